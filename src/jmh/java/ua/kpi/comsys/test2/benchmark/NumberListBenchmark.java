@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ua.kpi.comsys.test2.implementation.NumberListImpl;
+
+/**
+ * JMH benchmarks for <tt>NumberListImpl</tt>.<p>
+ *
+ * Input is either <tt>BigNumber.txt</tt> from the test resources or a random
+ * decimal number with the given count of digits. To export results as JSON:
+ * <pre>
+ * mvn -Pjmh package
+ * java -jar target/benchmarks.jar -rf json -rff target/jmh-result.json
+ * </pre>
+ * Conversions run on {@link Uncached} list, changed before each call, so
+ * they measure the conversion itself; <tt>toDecimalStringCached</tt> measures
+ * the cached path.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class NumberListBenchmark {
+
+    @Param({"BigNumber.txt", "10", "1000", "100000", "10000000"})
+    public String input;
+
+    private File source;
+    private File target;
+    private NumberListImpl list;
+    private NumberListImpl other;
+    private byte[] digits;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String decimal = input.endsWith(".txt") ? readResource(input) : randomDecimal(Integer.parseInt(input), 1);
+
+        source = File.createTempFile("number", ".txt");
+        target = File.createTempFile("saved", ".txt");
+        Files.write(source.toPath(), decimal.getBytes(StandardCharsets.US_ASCII));
+
+        list = new NumberListImpl(source);
+        other = new NumberListImpl(randomDecimal(decimal.length(), 2));
+
+        digits = new byte[list.size()];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = list.get(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        source.delete();
+        target.delete();
+    }
+
+    /**
+     * List for conversion benchmarks. It is changed (a digit is set to
+     * the same value) before each call, so cached results are not used.
+     */
+    @State(Scope.Thread)
+    public static class Uncached {
+        private NumberListImpl list;
+
+        @Setup(Level.Trial)
+        public void setUp(NumberListBenchmark benchmark) {
+            list = new NumberListImpl(benchmark.source);
+        }
+
+        @Setup(Level.Invocation)
+        public void invalidate() {
+            list.set(0, list.get(0));
+        }
+    }
+
+    @Benchmark
+    public NumberListImpl add() {
+        NumberListImpl result = new NumberListImpl();
+        for (byte digit : digits) {
+            result.add(digit);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (int i = 0; i < digits.length; i++) {
+            bh.consume(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public void set() {
+        for (int i = 0; i < digits.length; i++) {
+            list.set(i, digits[i]);
+        }
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Byte digit : list) {
+            bh.consume(digit);
+        }
+    }
+
+    @Benchmark
+    public NumberListImpl sortAscending() {
+        list.sortAscending();
+        return list;
+    }
+
+    @Benchmark
+    public String toDecimalString(Uncached uncached) {
+        return uncached.list.toDecimalString();
+    }
+
+    @Benchmark
+    public String toDecimalStringCached() {
+        return list.toDecimalString();
+    }
+
+    @Benchmark
+    public NumberListImpl changeScale(Uncached uncached) {
+        return uncached.list.changeScale();
+    }
+
+    @Benchmark
+    public NumberListImpl additionalOperation() {
+        return list.additionalOperation(other);
+    }
+
+    @Benchmark
+    public NumberListImpl multiply() {
+        return list.multiply(other);
+    }
+
+    @Benchmark
+    public void saveList(Uncached uncached) {
+        uncached.list.saveList(target);
+    }
+
+    @Benchmark
+    public NumberListImpl fileConstructor() {
+        return new NumberListImpl(source);
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream in = NumberListBenchmark.class.getResourceAsStream("/" + name)) {
+            if (in == null) throw new IOException("Resource not found: " + name);
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim();
+        }
+    }
+
+    private static String randomDecimal(int length, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(length);
+        sb.append((char) ('1' + random.nextInt(9)));
+        for (int i = 1; i < length; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+}
@@ -6,7 +6,15 @@
 
 package ua.kpi.comsys.test2;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * List interface for software engineering professional practice
@@ -56,5 +64,91 @@ public interface NumberList extends List<Byte> {
      * Performs right cyclic shift in current list.  
      */
     void shiftRight();
+
+
+    //Primitive digit access
+
+    /**
+     * Returns digit at the specified position without boxing.
+     *
+     * @param index - index of the digit
+     * @return digit at the specified position.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    default byte getDigit(int index) {
+        return get(index);
+    }
+
+
+    /**
+     * Performs the given action for each digit of the list in order,
+     * without boxing.
+     *
+     * @param action - action to be performed for each digit
+     */
+    default void forEachDigit(IntConsumer action) {
+        Objects.requireNonNull(action);
+        for (Byte digit : this) {
+            action.accept(digit);
+        }
+    }
+
+
+    /**
+     * Returns iterator over digits of the list in order, without boxing.
+     *
+     * @return primitive iterator over digits.
+     */
+    default PrimitiveIterator.OfInt digitIterator() {
+        Iterator<Byte> it = iterator();
+        return new PrimitiveIterator.OfInt() {
+            public boolean hasNext() { return it.hasNext(); }
+            public int nextInt() { return it.next(); }
+            public void remove() { it.remove(); }
+        };
+    }
+
+
+    /**
+     * Returns sequential stream of the list digits in order, without boxing.
+     *
+     * @return stream of digits.
+     */
+    default IntStream digits() {
+        return StreamSupport.intStream(Spliterators.spliterator(digitIterator(), size(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+
+    /**
+     * Appends digits <tt>digits[from..to)</tt> to the end of the list.
+     *
+     * @param digits - array of digits
+     * @param from - index of the first digit to append
+     * @param to - index after the last digit to append
+     * @return <tt>true</tt> if the list changed.
+     * @throws IllegalArgumentException if some digit is out of range.
+     */
+    default boolean addDigits(byte[] digits, int from, int to) {
+        Objects.checkFromToIndex(from, to, digits.length);
+        Byte[] boxed = new Byte[to - from];
+        for (int i = from; i < to; i++) {
+            boxed[i - from] = digits[i];
+        }
+        return addAll(List.of(boxed));
+    }
+
+
+    /**
+     * Returns array of the list digits in order.
+     *
+     * @return new array of digits.
+     */
+    default byte[] toByteArray() {
+        byte[] digits = new byte[size()];
+        int[] index = {0};
+        forEachDigit(d -> digits[index[0]++] = (byte) d);
+        return digits;
+    }
 }
 
@@ -0,0 +1,881 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Потокобезпечний <tt>NumberList</tt> на основі {@link NumberListImpl}.<p>
+ *
+ * Зміни виконуються під блокуванням запису <tt>StampedLock</tt>. Читання
+ * виконуються на місці, без копіювання цифр, за схемою <tt>StampedLock</tt>:
+ * поля кожного вузла спершу копіюються в локальні змінні, штамп
+ * оптимістичного читання перевіряється, і лише потім копія використовується
+ * (див. <tt>NumberListImpl.readDigits</tt>). Якщо список змінився під час
+ * читання, воно повторюється під блокуванням читання.<p>
+ *
+ * Ітератори, потоки цифр та підсписки читають цифри цього списку блоками
+ * тим самим способом. Вони слабко узгоджені: не кидають
+ * <tt>ConcurrentModificationException</tt>, не змінюють список, не тримають
+ * блокування між читаннями і можуть бачити зміни, зроблені під час обходу.
+ * Незмінний стан списку дає {@link #snapshot()}.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+public class ConcurrentNumberList implements NumberList {
+
+    // Цифр в одному блоці ітератора
+    private static final int BLOCK_DIGITS = 1024;
+
+    private final StampedLock lock = new StampedLock();
+    private final NumberListImpl list;
+    private volatile Decimal decimal; // останній десятковий рядок, див. toDecimalString()
+
+    /*
+     * Десятковий рядок і штамп, під яким знято копію для перетворення.
+     * Рядок дійсний, доки lock.validate(stamp): список відтоді не змінювався.
+     */
+    private static final class Decimal {
+        final long stamp;
+        final String value;
+
+        Decimal(long stamp, String value) {
+            this.stamp = stamp;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Default constructor. Returns empty <tt>ConcurrentNumberList</tt>
+     * in binary scale of notation.
+     */
+    public ConcurrentNumberList() {
+        this.list = new NumberListImpl();
+    }
+
+    /**
+     * Constructs new <tt>ConcurrentNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public ConcurrentNumberList(String value) {
+        this.list = new NumberListImpl(value);
+    }
+
+    /**
+     * Constructs new <tt>ConcurrentNumberList</tt> with a copy of digits
+     * of <tt>list</tt>, in the same scale of notation.
+     *
+     * @param list - source list, must not be changed during the call.
+     */
+    public ConcurrentNumberList(NumberListImpl list) {
+        this.list = list.copy();
+    }
+
+    /**
+     * Returns consistent copy of the list as <tt>NumberListImpl</tt>.
+     * Further changes of either list do not affect the other.
+     *
+     * @return copy of the list.
+     */
+    public NumberListImpl copy() {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            NumberListImpl copy = list.copy(() -> lock.validate(stamp));
+            if (copy != null) return copy;
+        }
+
+        long readStamp = lock.readLock();
+        try {
+            return list.copy();
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Returns immutable snapshot of the list. The snapshot does not copy
+     * digits and takes the read lock only for O(1) time, so it can be
+     * read by any number of threads without locking. The first change of
+     * existing digits after the snapshot copies the nodes of this list
+     * once, so use iterators for plain traversal.
+     *
+     * @return <tt>PersistentNumberList</tt> with the current digits.
+     * @see NumberListImpl#snapshot()
+     */
+    public PersistentNumberList snapshot() {
+        // знімок лише позначає вузли спільними; усі читачі записують те саме
+        // значення, а запис побачить його після отримання свого блокування
+        long stamp = lock.readLock();
+        try {
+            return list.snapshot();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns string representation of number, stored in the list
+     * in <b>decimal</b> scale of notation.<p>
+     *
+     * The number is converted from a copy of the list without locking.
+     * The result is kept until the list changes.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        Decimal cached = decimal;
+        if (cached != null && lock.validate(cached.stamp)) return cached.value;
+
+        // копія знімається оптимістично, а за потреби - під блокуванням читання,
+        // яке потім перетворюється на штамп оптимістичного читання для кешу
+        long optimistic = lock.tryOptimisticRead();
+        NumberListImpl copy = optimistic == 0 ? null : list.copy(() -> lock.validate(optimistic));
+        long stamp = optimistic;
+        if (copy == null) {
+            stamp = lock.readLock();
+            try {
+                copy = list.copy();
+            } finally {
+                stamp = lock.tryConvertToOptimisticRead(stamp);
+            }
+        }
+
+        String value = copy.toDecimalString();
+        decimal = new Decimal(stamp, value);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        DigitString digits = new DigitString(list.base());
+        read(0, null, digits);
+        return digits.sb.length() == 0 ? "0" : digits.sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NumberList)) return false;
+
+        // копія іншого потокобезпечного списку: два блокування одразу могли б зачекати одне на одне
+        NumberList other = o instanceof ConcurrentNumberList ? ((ConcurrentNumberList) o).copy() : (NumberList) o;
+        DigitsEqual equal = new DigitsEqual(other);
+        read(0, null, equal);
+        return equal.equal;
+    }
+
+    /**
+     * Returns hash code of the list as defined by {@link List#hashCode()}.
+     * The value cached by <tt>NumberListImpl</tt> is returned under the
+     * read lock; only a missing value is computed under the write lock,
+     * because computing it changes the list's cache.
+     */
+    @Override
+    public int hashCode() {
+        long stamp = lock.readLock();
+        try {
+            if (list.hashCached()) return list.hashCode();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        stamp = lock.writeLock();
+        try {
+            return list.hashCode();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = list.size();
+        if (lock.validate(stamp)) return size;
+
+        stamp = lock.readLock();
+        try {
+            return list.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Byte get(int index) {
+        return getDigit(index);
+    }
+
+    @Override
+    public byte getDigit(int index) {
+        Digit digit = new Digit();
+        if (read(index, null, digit) < 0) throw new IndexOutOfBoundsException();
+        return digit.value;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        int required = 0;
+        if (c instanceof ConcurrentNumberList) {
+            required = ((ConcurrentNumberList) c).digitMask(-1);
+        } else {
+            for (Object o : c) {
+                if (!(o instanceof Byte) || (Byte) o < 0 || (Byte) o >= RadixConverter.MAX_BASE) return false;
+                required |= 1 << (Byte) o;
+            }
+        }
+        return required == 0 || (digitMask(required) & required) == required;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte)) return -1;
+
+        byte target = (Byte) o;
+        return read(0, null, (index, digit) -> digit != target);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte)) return -1;
+
+        LastIndex last = new LastIndex((Byte) o);
+        read(0, null, last);
+        return last.index;
+    }
+
+    @Override
+    public Object[] toArray() {
+        byte[] digits = toByteArray();
+        Object[] arr = new Object[digits.length];
+        for (int i = 0; i < digits.length; i++) {
+            arr[i] = digits[i];
+        }
+        return arr;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        byte[] digits = toByteArray();
+        T[] arr = a.length >= digits.length
+                ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), digits.length);
+        for (int i = 0; i < digits.length; i++) {
+            arr[i] = (T) Byte.valueOf(digits[i]);
+        }
+        if (arr.length > digits.length) arr[digits.length] = null;
+        return arr;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        DigitArray digits = new DigitArray();
+        read(0, null, digits);
+        return digits.digits;
+    }
+
+    /**
+     * Performs the action for each digit of the list. Digits are read in
+     * blocks, as by {@link #digitIterator()}; the action runs without the lock.
+     */
+    @Override
+    public void forEachDigit(IntConsumer action) {
+        Objects.requireNonNull(action);
+        digitIterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns weakly consistent primitive iterator over the digits.
+     * The iterator does not support <tt>remove</tt>.
+     */
+    @Override
+    public PrimitiveIterator.OfInt digitIterator() {
+        return new DigitIterator(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns weakly consistent spliterator over the digits.
+     */
+    @Override
+    public Spliterator<Byte> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Returns weakly consistent stream of the digits.
+     */
+    @Override
+    public IntStream digits() {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(digitIterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT), false);
+    }
+
+    /**
+     * Returns weakly consistent iterator over the digits.
+     * The iterator does not support <tt>remove</tt>.
+     */
+    @Override
+    public Iterator<Byte> iterator() {
+        return boxed(new DigitIterator(0, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns weakly consistent list iterator over the digits.
+     * The iterator does not support modification operations.
+     */
+    @Override
+    public ListIterator<Byte> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<Byte> listIterator(int index) {
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException();
+        return new DigitListIterator(0, Integer.MAX_VALUE, index);
+    }
+
+    /**
+     * Returns unmodifiable view of the specified range of the list. The view
+     * reads digits of this list in the same way as iterators do.
+     */
+    @Override
+    public List<Byte> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException();
+        return new Range(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean add(Byte e) {
+        long stamp = lock.writeLock();
+        try {
+            return list.add(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, Byte element) {
+        long stamp = lock.writeLock();
+        try {
+            list.add(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Byte set(int index, Byte element) {
+        long stamp = lock.writeLock();
+        try {
+            return list.set(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Byte remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(o);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Byte> c) {
+        // цифри копіюються до блокування, бо c може бути цим самим списком
+        List<Byte> digits = List.copyOf(c);
+        long stamp = lock.writeLock();
+        try {
+            return list.addAll(digits);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addDigits(byte[] digits, int from, int to) {
+        long stamp = lock.writeLock();
+        try {
+            return list.addDigits(digits, from, to);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Byte> c) {
+        List<Byte> digits = List.copyOf(c);
+        long stamp = lock.writeLock();
+        try {
+            return list.addAll(index, digits);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Collection<?> digits = digitsOf(c);
+        long stamp = lock.writeLock();
+        try {
+            return list.removeAll(digits);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all digits that satisfy the predicate. The predicate is
+     * evaluated under the write lock and must not access this list.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Byte> filter) {
+        long stamp = lock.writeLock();
+        try {
+            return list.removeIf(filter);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Collection<?> digits = digitsOf(c);
+        long stamp = lock.writeLock();
+        try {
+            return list.retainAll(digits);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            list.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        long stamp = lock.writeLock();
+        try {
+            return list.swap(index1, index2);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void sortAscending() {
+        long stamp = lock.writeLock();
+        try {
+            list.sortAscending();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void sortDescending() {
+        long stamp = lock.writeLock();
+        try {
+            list.sortDescending();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void shiftLeft() {
+        long stamp = lock.writeLock();
+        try {
+            list.shiftLeft();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void shiftRight() {
+        long stamp = lock.writeLock();
+        try {
+            list.shiftRight();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /*
+     * Обхід цифр від from: спершу під оптимістичним читанням, а якщо список
+     * тим часом змінився - ще раз під блокуванням читання. Повторний обхід
+     * знову викликає visitor.start, тож visitor починає спочатку.
+     */
+    private int read(int from, NumberListImpl.ReadPosition position, NumberListImpl.DigitVisitor visitor) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            int result = list.readDigits(from, position, () -> lock.validate(stamp), visitor);
+            if (result != NumberListImpl.READ_CHANGED) return result;
+        }
+
+        long readStamp = lock.readLock();
+        try {
+            return list.readDigits(from, position, () -> true, visitor);
+        } finally {
+            lock.unlockRead(readStamp);
+        }
+    }
+
+    // Маска наявних цифр (біт d - цифра d); обхід зупиняється, щойно знайдено всі цифри required
+    private int digitMask(int required) {
+        DigitMask mask = new DigitMask(required);
+        read(0, null, mask);
+        return mask.mask;
+    }
+
+    // Цифри колекції, якщо це ConcurrentNumberList: блокування не повторні,
+    // тож звертатися до неї під блокуванням цього списку не можна
+    private static Collection<?> digitsOf(Collection<?> c) {
+        if (!(c instanceof ConcurrentNumberList)) return c;
+
+        int mask = ((ConcurrentNumberList) c).digitMask(-1);
+        List<Byte> digits = new ArrayList<>();
+        for (int d = 0; d < RadixConverter.MAX_BASE; d++) {
+            if ((mask & (1 << d)) != 0) digits.add((byte) d);
+        }
+        return digits;
+    }
+
+    private static Iterator<Byte> boxed(PrimitiveIterator.OfInt it) {
+        return new Iterator<Byte>() {
+            public boolean hasNext() { return it.hasNext(); }
+            public Byte next() { return (byte) it.nextInt(); }
+        };
+    }
+
+    // Одна цифра за індексом
+    private static final class Digit implements NumberListImpl.DigitVisitor {
+        byte value;
+
+        @Override
+        public boolean visit(int index, int digit) {
+            value = (byte) digit;
+            return false;
+        }
+    }
+
+    private static final class DigitArray implements NumberListImpl.DigitVisitor {
+        byte[] digits;
+
+        @Override
+        public void start(int size) {
+            digits = new byte[size];
+        }
+
+        @Override
+        public boolean visit(int index, int digit) {
+            digits[index] = (byte) digit;
+            return true;
+        }
+    }
+
+    private static final class DigitString implements NumberListImpl.DigitVisitor {
+        private final int base;
+        StringBuilder sb;
+
+        DigitString(int base) {
+            this.base = base;
+        }
+
+        @Override
+        public void start(int size) {
+            sb = new StringBuilder(size);
+        }
+
+        @Override
+        public boolean visit(int index, int digit) {
+            sb.append(Character.toUpperCase(Character.forDigit(digit, base)));
+            return true;
+        }
+    }
+
+    private static final class LastIndex implements NumberListImpl.DigitVisitor {
+        private final byte target;
+        int index;
+
+        LastIndex(byte target) {
+            this.target = target;
+        }
+
+        @Override
+        public void start(int size) {
+            index = -1;
+        }
+
+        @Override
+        public boolean visit(int index, int digit) {
+            if (digit == target) this.index = index;
+            return true;
+        }
+    }
+
+    private static final class DigitMask implements NumberListImpl.DigitVisitor {
+        private final int required;
+        int mask;
+
+        DigitMask(int required) {
+            this.required = required;
+        }
+
+        @Override
+        public void start(int size) {
+            mask = 0;
+        }
+
+        @Override
+        public boolean visit(int index, int digit) {
+            mask |= 1 << digit;
+            return (mask & required) != required;
+        }
+    }
+
+    // Порівняння з іншим списком; ітератор іншого списку створюється на кожен обхід
+    private static final class DigitsEqual implements NumberListImpl.DigitVisitor {
+        private final NumberList other;
+        private PrimitiveIterator.OfInt it;
+        boolean equal;
+
+        DigitsEqual(NumberList other) {
+            this.other = other;
+        }
+
+        @Override
+        public void start(int size) {
+            equal = size == other.size();
+            it = other.digitIterator();
+        }
+
+        @Override
+        public boolean visit(int index, int digit) {
+            equal = equal && it.hasNext() && it.nextInt() == digit;
+            return equal;
+        }
+    }
+
+    /*
+     * Ітератор цифр [from, end): цифри читаються блоками по BLOCK_DIGITS
+     * через read, кожен блок - узгоджена частина списку на момент читання.
+     * Позиція попереднього блоку дозволяє не шукати вузол від голови.
+     */
+    private final class DigitIterator implements PrimitiveIterator.OfInt, NumberListImpl.DigitVisitor {
+        private final NumberListImpl.ReadPosition position = new NumberListImpl.ReadPosition();
+        private final byte[] block = new byte[BLOCK_DIGITS];
+        private final int end;
+        private int next; // індекс першої цифри, ще не прочитаної в блок
+        private int count;
+        private int offset;
+
+        DigitIterator(int from, int end) {
+            this.next = from;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (offset < count) return true;
+            if (next >= end) return false;
+
+            offset = 0;
+            read(next, position, this);
+            next += count;
+            return count > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return block[offset++];
+        }
+
+        @Override
+        public void start(int size) {
+            count = 0;
+        }
+
+        @Override
+        public boolean visit(int index, int digit) {
+            block[count++] = (byte) digit;
+            return count < block.length && index + 1 < end;
+        }
+    }
+
+    // Списковий ітератор по [from, end), що читає по одній цифрі, як getDigit
+    private final class DigitListIterator implements ListIterator<Byte> {
+        private final NumberListImpl.ReadPosition position = new NumberListImpl.ReadPosition();
+        private final Digit digit = new Digit();
+        private final int from;
+        private final int end;
+        private int cursor; // індекс наступної цифри відносно from
+
+        DigitListIterator(int from, int end, int cursor) {
+            this.from = from;
+            this.end = end;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return from + cursor < Math.min(end, size());
+        }
+
+        @Override
+        public Byte next() {
+            if (from + cursor >= end) throw new NoSuchElementException();
+            Byte result = digitAt(from + cursor);
+            cursor++;
+            return result;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Byte previous() {
+            if (cursor == 0) throw new NoSuchElementException();
+            Byte result = digitAt(from + cursor - 1);
+            cursor--;
+            return result;
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(Byte e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(Byte e) {
+            throw new UnsupportedOperationException();
+        }
+
+        private Byte digitAt(int index) {
+            if (read(index, position, digit) < 0) throw new NoSuchElementException();
+            return digit.value;
+        }
+    }
+
+    // Незмінне представлення цифр [from, to) цього списку
+    private final class Range extends AbstractList<Byte> {
+        private final int from;
+        private final int to;
+
+        Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Byte get(int index) {
+            if (index < 0 || index >= size())
+                throw new IndexOutOfBoundsException();
+            return getDigit(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public Iterator<Byte> iterator() {
+            return boxed(new DigitIterator(from, to));
+        }
+
+        @Override
+        public ListIterator<Byte> listIterator(int index) {
+            if (index < 0 || index > size())
+                throw new IndexOutOfBoundsException();
+            return new DigitListIterator(from, to, index);
+        }
+
+        @Override
+        public List<Byte> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+                throw new IndexOutOfBoundsException();
+            return new Range(from + fromIndex, from + toIndex);
+        }
+    }
+}
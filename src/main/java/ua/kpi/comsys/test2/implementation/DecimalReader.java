@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Потокове читання десяткового числа з файлу.<p>
+ *
+ * Файл відображається в пам'ять вікнами через <tt>FileChannel</tt>, тож
+ * текст числа ніколи не зберігається в купі цілком. Цифри розбираються
+ * блоками по 18 у значення <tt>long</tt>, а блоки об'єднуються попарно,
+ * як у двійковому лічильнику: два сусідні значення однакової довжини
+ * зливаються в одне, тому множення завжди виконуються над числами
+ * однакового розміру.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+final class DecimalReader {
+
+    private static final int WINDOW_SIZE = 1 << 26; // байтів у вікні відображення
+    private static final int BLOCK_SIZE = 1 << 16;  // байтів, що розбираються за раз
+    private static final int LIMB_DIGITS = RadixConverter.leafDigits(10);
+
+    private final long[] stackLimbs = new long[Long.SIZE];
+    private final BigInteger[] stackValues = new BigInteger[Long.SIZE];
+    private int depth;
+
+    private long limb;
+    private int limbDigits;
+    private long digits;
+
+    private DecimalReader() {
+    }
+
+    /**
+     * Reads non-negative decimal number from the first line of the file.
+     * Leading and trailing whitespace of the line is ignored, the rest of
+     * the file after the first line break is not read.
+     *
+     * @param path - file where number is stored.
+     * @return value of the number, or <tt>null</tt> if the line is blank.
+     * @throws IOException if the file cannot be read.
+     * @throws NumberFormatException if the line is not a non-negative decimal number.
+     */
+    static BigInteger read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new DecimalReader().parse(channel);
+        }
+    }
+
+    private BigInteger parse(FileChannel channel) throws IOException {
+        byte[] block = new byte[BLOCK_SIZE];
+        int state = 0; // 0 - пробіли перед числом, 1 - цифри, 2 - пробіли після числа
+
+        long size = channel.size();
+        scan:
+        for (long position = 0; position < size; position += WINDOW_SIZE) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    position, Math.min(WINDOW_SIZE, size - position));
+            while (window.hasRemaining()) {
+                int n = Math.min(block.length, window.remaining());
+                window.get(block, 0, n);
+                for (int i = 0; i < n; i++) {
+                    int c = block[i];
+                    if (c >= '0' && c <= '9') {
+                        if (state == 2) throw invalid(position, window, n, i);
+                        state = 1;
+                        // кінець серії цифр шукається векторно, якщо це можливо
+                        int end = DigitKernels.INSTANCE.firstOutside(block, i, n, '0', '9' + 1);
+                        pushDigits(block, i, end);
+                        i = end - 1;
+                    } else if (c == '\n' || c == '\r') {
+                        break scan;
+                    } else if (c == ' ' || c == '\t') {
+                        if (state == 1) state = 2;
+                    } else if (c == '+' && state == 0) {
+                        state = 1;
+                    } else if (c == '-' && state == 0) {
+                        throw new NumberFormatException("Negative number");
+                    } else {
+                        throw invalid(position, window, n, i);
+                    }
+                }
+            }
+        }
+
+        if (digits == 0) {
+            if (state != 0) throw new NumberFormatException("Zero length number");
+            return null;
+        }
+        return finish();
+    }
+
+    private static NumberFormatException invalid(long position, MappedByteBuffer window, int n, int i) {
+        long offset = position + window.position() - n + i;
+        return new NumberFormatException("Invalid character at offset " + offset);
+    }
+
+    // Додавання ASCII-цифр block[from..to) групами до заповнення 18-цифрового блоку
+    private void pushDigits(byte[] block, int from, int to) {
+        digits += to - from;
+        while (from < to) {
+            int n = Math.min(to - from, LIMB_DIGITS - limbDigits);
+            for (int end = from + n; from < end; from++) {
+                limb = limb * 10 + (block[from] - '0');
+            }
+            limbDigits += n;
+            if (limbDigits == LIMB_DIGITS) {
+                push(BigInteger.valueOf(limb), 1);
+                limb = 0;
+                limbDigits = 0;
+            }
+        }
+    }
+
+    // Додавання блоку з limbs 18-цифрових груп; рівні за довжиною блоки зливаються
+    private void push(BigInteger value, long limbs) {
+        while (depth > 0 && stackLimbs[depth - 1] == limbs) {
+            depth--;
+            value = stackValues[depth].multiply(limbPower(limbs)).add(value);
+            stackValues[depth] = null;
+            limbs *= 2;
+        }
+        stackLimbs[depth] = limbs;
+        stackValues[depth] = value;
+        depth++;
+    }
+
+    private BigInteger finish() {
+        BigInteger value = BigInteger.ZERO;
+        long limbs = 0;
+        for (int i = depth - 1; i >= 0; i--) {
+            value = stackValues[i].multiply(limbPower(limbs)).add(value);
+            limbs += stackLimbs[i];
+        }
+        return value.multiply(BigInteger.TEN.pow(limbDigits)).add(BigInteger.valueOf(limb));
+    }
+
+    // 10^(18 * limbs) як добуток кешованих степенів 10^(18 * 2^k)
+    private static BigInteger limbPower(long limbs) {
+        BigInteger power = BigInteger.ONE;
+        for (int k = 0; limbs >> k != 0; k++) {
+            if ((limbs >> k & 1) != 0) power = power.multiply(RadixConverter.power(10, k));
+        }
+        return power;
+    }
+}
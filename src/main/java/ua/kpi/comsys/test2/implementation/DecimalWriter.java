@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.IntConsumer;
+
+/**
+ * Потоковий запис десяткового числа.<p>
+ *
+ * Цифри виробляються блоками під час рекурсивного ділення числа
+ * (див. {@link RadixConverter#toDigits}) і відразу скидаються у
+ * буфер фіксованого розміру, тож повний рядок числа не створюється.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+final class DecimalWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private DecimalWriter() {
+    }
+
+    /**
+     * Writes decimal digits of non-negative <tt>value</tt> to <tt>out</tt>.
+     */
+    static void write(BigInteger value, Appendable out) throws IOException {
+        CharBuffer buffer = CharBuffer.allocate(BUFFER_SIZE);
+        write(value, d -> {
+            if (!buffer.hasRemaining()) flush(buffer, out);
+            buffer.put((char) ('0' + d));
+        });
+        flush(buffer, out);
+    }
+
+    /**
+     * Writes decimal digits of non-negative <tt>value</tt> as ASCII
+     * characters to <tt>out</tt>.
+     */
+    static void write(BigInteger value, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        write(value, d -> {
+            if (!buffer.hasRemaining()) flush(buffer, out);
+            buffer.put((byte) ('0' + d));
+        });
+        flush(buffer, out);
+    }
+
+    // Помилки запису з лямбди передаються як UncheckedIOException і розгортаються тут
+    private static void write(BigInteger value, IntConsumer sink) throws IOException {
+        try {
+            RadixConverter.toDigits(value, 10, 0, sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void flush(CharBuffer buffer, Appendable out) {
+        buffer.flip();
+        try {
+            out.append(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private static void flush(ByteBuffer buffer, WritableByteChannel out) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Масові операції над цифрами: над упакованими 64-бітними словами вузлів
+ * і над масивами байтів.<p>
+ *
+ * Якщо модуль <tt>jdk.incubator.vector</tt> підключено до JVM
+ * (<tt>--add-modules jdk.incubator.vector</tt>), використовується
+ * векторна реалізація, інакше - скалярна. Вибір робиться один раз
+ * під час завантаження класу.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+interface DigitKernels {
+
+    DigitKernels INSTANCE = load();
+
+    /**
+     * Stores <tt>a[i] &amp; b[i]</tt> to <tt>dst[i]</tt> for <tt>i</tt> in <tt>[0, n)</tt>.
+     */
+    void and(long[] a, long[] b, long[] dst, int n);
+
+    /**
+     * Stores <tt>a[i] | b[i]</tt> to <tt>dst[i]</tt> for <tt>i</tt> in <tt>[0, n)</tt>.
+     */
+    void or(long[] a, long[] b, long[] dst, int n);
+
+    /**
+     * Stores <tt>a[i] ^ b[i]</tt> to <tt>dst[i]</tt> for <tt>i</tt> in <tt>[0, n)</tt>.
+     */
+    void xor(long[] a, long[] b, long[] dst, int n);
+
+    /**
+     * Stores <tt>a[i] &amp; ~b[i]</tt> to <tt>dst[i]</tt> for <tt>i</tt> in <tt>[0, n)</tt>.
+     */
+    void andNot(long[] a, long[] b, long[] dst, int n);
+
+    /**
+     * Returns <tt>true</tt> if <tt>a[0..n)</tt> and <tt>b[0..n)</tt> are equal.
+     */
+    boolean equal(long[] a, long[] b, int n);
+
+    /**
+     * Counts digits equal to non-zero <tt>digit</tt> in <tt>words[0..n)</tt>,
+     * where each digit takes <tt>bits</tt> bits (1, 2 or 4).
+     */
+    long countDigit(long[] words, int n, int bits, int digit);
+
+    /**
+     * Returns <tt>true</tt> if any digit of <tt>bits</tt> bits in
+     * <tt>words[0..n)</tt> is not less than <tt>base</tt>.
+     */
+    boolean hasDigitAtLeast(long[] words, int n, int bits, int base);
+
+    /**
+     * Returns index of the first byte in <tt>a[from..to)</tt> outside of
+     * <tt>[lo, hi)</tt>, or <tt>to</tt> if there is no such byte.
+     */
+    int firstOutside(byte[] a, int from, int to, int lo, int hi);
+
+    private static DigitKernels load() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // клас завантажується за іменем, бо без модуля його неможливо зв'язати
+                return (DigitKernels) Class.forName(DigitKernels.class.getPackageName() + ".VectorDigitKernels")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // лишається скалярна реалізація
+            }
+        }
+        return new ScalarDigitKernels();
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Арифметика невід'ємних чисел, записаних лімбами - групами цифр
+ * у системі з основою radix = base^k, молодший лімб першим.<p>
+ *
+ * Основа лімбів не перевищує 2^28, тож добуток двох лімбів займає не більше
+ * 56 біт, і в одному <tt>long</tt> можна накопичити суму кількох десятків
+ * добутків без переносів.<p>
+ *
+ * Множення обирає алгоритм за довжиною операндів: шкільний для коротких,
+ * Карацуби для середніх і Тоома-3 для довгих. Ділення на один лімб
+ * виконується за один прохід, на короткі дільники - алгоритмом D Кнута,
+ * на довгі - рекурсивним алгоритмом Бурнікеля-Циглера, що зводить
+ * ділення до множень.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+final class LimbArithmetic {
+
+    static final int MAX_RADIX = 1 << 28;
+
+    // Межі в лімбах, підібрані вимірюваннями; сума KARATSUBA_THRESHOLD
+    // добутків лімбів у шкільному множенні має вміщатися в long
+    private static final int KARATSUBA_THRESHOLD = 80;
+    private static final int TOOM3_THRESHOLD = 512;
+    private static final int BURNIKEL_ZIEGLER_THRESHOLD = 80;
+
+    private LimbArithmetic() {
+    }
+
+    /**
+     * Returns the number of digits in the given base that form one limb.
+     */
+    static int digitsPerLimb(int base) {
+        int k = 0;
+        for (long p = base; p <= MAX_RADIX; p *= base) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Returns the product of <tt>a</tt> and <tt>b</tt>, which has
+     * <tt>a.length + b.length</tt> limbs.
+     */
+    static int[] multiply(int[] a, int[] b, int radix) {
+        return multiply(a, a.length, b, b.length, radix);
+    }
+
+    // Добуток a[0..n) * b[0..m) довжиною n + m
+    private static int[] multiply(int[] a, int n, int[] b, int m, int radix) {
+        if (n < m) return multiply(b, m, a, n, radix);
+
+        // старші нульові лімби не множаться
+        int n1 = length(a, n);
+        int m1 = length(b, m);
+        if (m1 == 0) return new int[n + m];
+        if (n1 < n || m1 < m) return Arrays.copyOf(multiply(a, n1, b, m1, radix), n + m);
+        if (m < KARATSUBA_THRESHOLD) return schoolbook(a, n, b, m, radix);
+
+        if (2 * m <= n) {
+            // короткий операнд множиться на блоки довгого однакової з ним довжини
+            int[] result = new int[n + m];
+            for (int from = 0; from < n; from += m) {
+                int[] block = Arrays.copyOfRange(a, from, Math.min(n, from + m));
+                addInto(result, multiply(block, block.length, b, m, radix), from, radix);
+            }
+            return result;
+        }
+        return m < TOOM3_THRESHOLD ? karatsuba(a, n, b, m, radix) : toom3(a, n, b, m, radix);
+    }
+
+    // Множення стовпчиками: кожна цифра результату - сума не більш ніж m добутків
+    private static int[] schoolbook(int[] a, int n, int[] b, int m, int radix) {
+        int[] result = new int[n + m];
+        long carry = 0;
+        for (int k = 0; k < n + m - 1; k++) {
+            long sum = carry;
+            for (int i = Math.max(0, k - m + 1), last = Math.min(k, n - 1); i <= last; i++) {
+                sum += (long) a[i] * b[k - i];
+            }
+            result[k] = (int) (sum % radix);
+            carry = sum / radix;
+        }
+        result[n + m - 1] = (int) carry;
+        return result;
+    }
+
+    /*
+     * Карацуба: a = a1*R^h + a0, b = b1*R^h + b0,
+     * ab = z2*R^2h + ((a0 + a1)(b0 + b1) - z0 - z2)*R^h + z0.
+     */
+    private static int[] karatsuba(int[] a, int n, int[] b, int m, int radix) {
+        int h = (n + 1) / 2;
+        int[] a0 = Arrays.copyOfRange(a, 0, h);
+        int[] a1 = Arrays.copyOfRange(a, h, n);
+        int[] b0 = Arrays.copyOfRange(b, 0, Math.min(h, m));
+        int[] b1 = Arrays.copyOfRange(b, Math.min(h, m), m);
+
+        int[] z0 = multiply(a0, b0, radix);
+        int[] z2 = multiply(a1, b1, radix);
+        int[] z1 = multiply(add(a0, a1, radix), add(b0, b1, radix), radix);
+        subtractFrom(z1, z0, radix);
+        subtractFrom(z1, z2, radix);
+
+        int[] result = new int[n + m + 1];
+        addInto(result, z0, 0, radix);
+        addInto(result, z1, h, radix);
+        addInto(result, z2, 2 * h, radix);
+        return Arrays.copyOf(result, n + m);
+    }
+
+    /*
+     * Тоом-3 з точками 0, 1, 2, 4 і нескінченність. Усі точки невід'ємні,
+     * тому проміжні значення інтерполяції теж невід'ємні і ділення
+     * на 2, 4 і 3 точні.
+     */
+    private static int[] toom3(int[] a, int n, int[] b, int m, int radix) {
+        int k = (n + 2) / 3;
+        int[][] as = split3(a, n, k);
+        int[][] bs = split3(b, m, k);
+
+        int[] v0 = multiply(as[0], bs[0], radix);
+        int[] v1 = multiply(evaluate(as, 1, radix), evaluate(bs, 1, radix), radix);
+        int[] v2 = multiply(evaluate(as, 2, radix), evaluate(bs, 2, radix), radix);
+        int[] v4 = multiply(evaluate(as, 4, radix), evaluate(bs, 4, radix), radix);
+        int[] vInf = multiply(as[2], bs[2], radix);
+
+        // r(x) = r4 x^4 + r3 x^3 + r2 x^2 + r1 x + r0, r0 = v0, r4 = vInf
+        int[] w1 = v1;                                   // r1 + r2 + r3
+        subtractFrom(w1, v0, radix);
+        subtractFrom(w1, vInf, radix);
+        int[] w2 = v2;                                   // r1 + 2 r2 + 4 r3
+        subtractFrom(w2, v0, radix);
+        subtractFrom(w2, multiplySmall(vInf, 16, radix), radix);
+        divideSmall(w2, 2, radix);
+        int[] w4 = v4;                                   // r1 + 4 r2 + 16 r3
+        subtractFrom(w4, v0, radix);
+        subtractFrom(w4, multiplySmall(vInf, 256, radix), radix);
+        divideSmall(w4, 4, radix);
+
+        subtractFrom(w4, w2, radix);                     // 2 r2 + 12 r3
+        divideSmall(w4, 2, radix);                       // r2 + 6 r3
+        subtractFrom(w2, w1, radix);                     // r2 + 3 r3
+        int[] r3 = w4;
+        subtractFrom(r3, w2, radix);
+        divideSmall(r3, 3, radix);
+        int[] r2 = w2;
+        subtractFrom(r2, multiplySmall(r3, 3, radix), radix);
+        int[] r1 = w1;
+        subtractFrom(r1, r2, radix);
+        subtractFrom(r1, r3, radix);
+
+        int[] result = new int[n + m + 1];
+        addInto(result, v0, 0, radix);
+        addInto(result, r1, k, radix);
+        addInto(result, r2, 2 * k, radix);
+        addInto(result, r3, 3 * k, radix);
+        addInto(result, vInf, 4 * k, radix);
+        return Arrays.copyOf(result, n + m);
+    }
+
+    // Розбиття x[0..n) на три частини по k лімбів (старша може бути коротшою або порожньою)
+    private static int[][] split3(int[] x, int n, int k) {
+        int[][] parts = new int[3][];
+        for (int i = 0; i < 3; i++) {
+            parts[i] = Arrays.copyOfRange(x, Math.min(n, i * k), Math.min(n, (i + 1) * k));
+        }
+        return parts;
+    }
+
+    // Значення многочлена p[0] + p[1] t + p[2] t^2 у точці t
+    private static int[] evaluate(int[][] p, int t, int radix) {
+        return add(p[0], multiplySmall(add(p[1], multiplySmall(p[2], t, radix), radix), t, radix), radix);
+    }
+
+    /**
+     * Returns quotient and remainder of <tt>a / b</tt>.
+     *
+     * @param b - divisor, must not be zero.
+     * @return array of quotient and remainder limbs.
+     */
+    static int[][] divideAndRemainder(int[] a, int[] b, int radix) {
+        int m = length(b, b.length);
+        if (m == 0) throw new ArithmeticException("Division by zero");
+        if (m == 1) {
+            int[] q = Arrays.copyOf(a, a.length);
+            return new int[][] {q, {divideSmall(q, b[0], radix)}};
+        }
+        if (compare(a, b) < 0) return new int[][] {new int[0], Arrays.copyOf(a, a.length)};
+
+        // нормалізація: старший лімб дільника не менший за radix / 2
+        int f = radix / (b[m - 1] + 1);
+        int[] u = multiplySmall(a, f, radix);
+        int[] v = Arrays.copyOf(multiplySmall(b, f, radix), m);
+
+        int[][] qr = m < BURNIKEL_ZIEGLER_THRESHOLD ? knuth(u, v, radix) : burnikelZiegler(u, v, radix);
+        divideSmall(qr[1], f, radix);
+        return qr;
+    }
+
+    /*
+     * Алгоритм D Кнута для нормалізованого дільника v довжиною n >= 2.
+     * Цифра частки оцінюється за двома старшими лімбами і уточнюється
+     * третім, після чого помилка можлива лише на одиницю.
+     */
+    private static int[][] knuth(int[] a, int[] v, int radix) {
+        int n = v.length;
+        int[] u = Arrays.copyOf(a, Math.max(length(a, a.length), n) + 1);
+        int m = u.length - 1 - n;
+        int[] q = new int[m + 1];
+        long vTop = v[n - 1];
+        long vNext = v[n - 2];
+
+        for (int j = m; j >= 0; j--) {
+            long num = (long) u[j + n] * radix + u[j + n - 1];
+            long qHat = num / vTop;
+            long rHat = num % vTop;
+            while (qHat >= radix || qHat * vNext > rHat * radix + u[j + n - 2]) {
+                qHat--;
+                rHat += vTop;
+                if (rHat >= radix) break;
+            }
+
+            // u[j..j+n] -= qHat * v
+            long carry = 0;
+            int borrow = 0;
+            for (int i = 0; i < n; i++) {
+                long p = qHat * v[i] + carry;
+                carry = p / radix;
+                int diff = u[i + j] - (int) (p % radix) - borrow;
+                borrow = diff < 0 ? 1 : 0;
+                u[i + j] = diff + borrow * radix;
+            }
+            long top = u[j + n] - carry - borrow;
+            if (top < 0) {
+                // оцінка завелика на одиницю: дільник додається назад
+                qHat--;
+                int c = 0;
+                for (int i = 0; i < n; i++) {
+                    int sum = u[i + j] + v[i] + c;
+                    c = sum >= radix ? 1 : 0;
+                    u[i + j] = sum - c * radix;
+                }
+                top = 0;
+            }
+            u[j + n] = (int) top;
+            q[j] = (int) qHat;
+        }
+        return new int[][] {q, Arrays.copyOf(u, n)};
+    }
+
+    /*
+     * Ділення Бурнікеля-Циглера. Дільник доповнюється молодшими нулями
+     * до довжини n = j * 2^k, ділене розбивається на блоки по n лімбів,
+     * і частка обчислюється по блоку за крок діленням 2n на n.
+     */
+    private static int[][] burnikelZiegler(int[] a, int[] b, int radix) {
+        int m = b.length;
+        int k = 0;
+        while (BURNIKEL_ZIEGLER_THRESHOLD << k <= m) k++;
+        int j = (m + (1 << k) - 1) >> k;
+        int n = j << k;
+        int sigma = n - m;
+
+        int[] v = shift(b, sigma);
+        int[] u = shift(a, sigma);
+        // старший блок має починатися з нульового лімба, щоб бути меншим за v
+        int t = Math.max(2, (length(u, u.length) + 1 + n - 1) / n);
+
+        int[] q = new int[t * n];
+        int[] z = block(u, t - 2, 2, n);
+        for (int i = t - 2; i >= 0; i--) {
+            int[][] qr = divide2n1n(z, v, n, radix);
+            System.arraycopy(qr[0], 0, q, i * n, Math.min(n, qr[0].length));
+            if (i > 0) z = join(qr[1], block(u, i - 1, 1, n), n);
+            else z = qr[1];
+        }
+        return new int[][] {q, Arrays.copyOfRange(z, sigma, Math.max(sigma, Math.min(z.length, n)))};
+    }
+
+    // Ділення a (2n лімбів, a < b * R^n) на нормалізований b (n лімбів)
+    private static int[][] divide2n1n(int[] a, int[] b, int n, int radix) {
+        if ((n & 1) != 0 || n < BURNIKEL_ZIEGLER_THRESHOLD) return knuth(a, b, radix);
+
+        int h = n / 2;
+        int[][] qr1 = divide3n2n(block(a, 1, 3, h), b, h, radix);
+        int[][] qr2 = divide3n2n(join(qr1[1], block(a, 0, 1, h), h), b, h, radix);
+        return new int[][] {join(qr1[0], qr2[0], h), qr2[1]};
+    }
+
+    /*
+     * Ділення a = [a1 a2 a3] (3h лімбів, a < b * R^h) на b = [b1 b2] (2h лімбів).
+     * Частка оцінюється діленням [a1 a2] на b1 і виправляється не більше
+     * ніж на два.
+     */
+    private static int[][] divide3n2n(int[] a, int[] b, int h, int radix) {
+        int[] a12 = block(a, 1, 2, h);
+        int[] b1 = block(b, 1, 1, h);
+        int[] b2 = block(b, 0, 1, h);
+
+        int[] q;
+        int[] r1;
+        if (compare(block(a, 2, 1, h), b1) < 0) {
+            int[][] qr = divide2n1n(a12, b1, h, radix);
+            q = qr[0];
+            r1 = qr[1];
+        } else {
+            // a1 == b1: q = R^h - 1, r1 = [a1 a2] - b1 * R^h + b1
+            q = new int[h];
+            Arrays.fill(q, radix - 1);
+            r1 = add(a12, b1, radix);
+            subtractFrom(r1, shift(b1, h), radix);
+        }
+
+        int[] x = join(r1, block(a, 0, 1, h), h);
+        int[] d = multiply(q, b2, radix);
+        while (compare(x, d) < 0) {
+            x = add(x, b, radix);
+            subtractFrom(q, new int[] {1}, radix);
+        }
+        subtractFrom(x, d, radix);
+        return new int[][] {q, x};
+    }
+
+    // Лімби x[i*size .. (i+count)*size), доповнені нулями
+    private static int[] block(int[] x, int i, int count, int size) {
+        int from = Math.min(x.length, i * size);
+        int to = Math.min(x.length, (i + count) * size);
+        return Arrays.copyOf(Arrays.copyOfRange(x, from, to), count * size);
+    }
+
+    // high * R^shift + low, де low коротше за shift лімбів
+    private static int[] join(int[] high, int[] low, int shift) {
+        int[] result = Arrays.copyOf(low, shift + length(high, high.length));
+        System.arraycopy(high, 0, result, shift, result.length - shift);
+        return result;
+    }
+
+    // x * R^shift
+    private static int[] shift(int[] x, int shift) {
+        int[] result = new int[x.length + shift];
+        System.arraycopy(x, 0, result, shift, x.length);
+        return result;
+    }
+
+    /**
+     * Compares numbers <tt>x</tt> and <tt>y</tt>, leading zero limbs are ignored.
+     */
+    static int compare(int[] x, int[] y) {
+        int n = length(x, x.length);
+        int m = length(y, y.length);
+        if (n != m) return n < m ? -1 : 1;
+        for (int i = n - 1; i >= 0; i--) {
+            if (x[i] != y[i]) return x[i] < y[i] ? -1 : 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns <tt>x + y</tt>, which has one limb more than the longer argument.
+     */
+    static int[] add(int[] x, int[] y, int radix) {
+        if (x.length < y.length) return add(y, x, radix);
+
+        int[] sum = Arrays.copyOf(x, x.length + 1);
+        addInto(sum, y, 0, radix);
+        return sum;
+    }
+
+    /**
+     * Adds <tt>y * radix^shift</tt> to <tt>r</tt>; <tt>r</tt> must be long
+     * enough to hold the sum.
+     */
+    static void addInto(int[] r, int[] y, int shift, int radix) {
+        int carry = 0;
+        int i = 0;
+        for (int n = length(y, y.length); i < n; i++) {
+            int sum = r[shift + i] + y[i] + carry;
+            carry = sum >= radix ? 1 : 0;
+            r[shift + i] = sum - carry * radix;
+        }
+        for (int j = shift + i; carry != 0; j++) {
+            int sum = r[j] + 1;
+            carry = sum >= radix ? 1 : 0;
+            r[j] = sum - carry * radix;
+        }
+    }
+
+    /**
+     * Subtracts <tt>y</tt> from <tt>r</tt> in place; <tt>y</tt> must not be
+     * greater than <tt>r</tt>.
+     */
+    static void subtractFrom(int[] r, int[] y, int radix) {
+        int borrow = 0;
+        int i = 0;
+        for (int n = length(y, y.length); i < n; i++) {
+            int diff = r[i] - y[i] - borrow;
+            borrow = diff < 0 ? 1 : 0;
+            r[i] = diff + borrow * radix;
+        }
+        for (; borrow != 0; i++) {
+            int diff = r[i] - 1;
+            borrow = diff < 0 ? 1 : 0;
+            r[i] = diff + borrow * radix;
+        }
+    }
+
+    /**
+     * Returns the number of limbs in <tt>x[0..n)</tt> without leading zero limbs.
+     */
+    static int length(int[] x, int n) {
+        while (n > 0 && x[n - 1] == 0) n--;
+        return n;
+    }
+
+    /**
+     * Returns <tt>x * s</tt> for a small non-negative <tt>s</tt>,
+     * which has one limb more than <tt>x</tt>.
+     */
+    static int[] multiplySmall(int[] x, int s, int radix) {
+        int[] product = new int[x.length + 1];
+        long carry = 0;
+        for (int i = 0; i < x.length; i++) {
+            long t = (long) x[i] * s + carry;
+            product[i] = (int) (t % radix);
+            carry = t / radix;
+        }
+        product[x.length] = (int) carry;
+        return product;
+    }
+
+    /**
+     * Divides <tt>x</tt> by a positive <tt>d</tt> in place.
+     *
+     * @return remainder of the division.
+     */
+    static int divideSmall(int[] x, int d, int radix) {
+        long rem = 0;
+        for (int i = x.length - 1; i >= 0; i--) {
+            long t = rem * radix + x[i];
+            x[i] = (int) (t / d);
+            rem = t % d;
+        }
+        return (int) rem;
+    }
+}
@@ -7,19 +7,38 @@
 
 package ua.kpi.comsys.test2.implementation;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Array;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import ua.kpi.comsys.test2.NumberList;
 
@@ -34,24 +53,252 @@ import ua.kpi.comsys.test2.NumberList;
  * Варіант: 5
  */
 
-public class NumberListImpl implements NumberList {
+public class NumberListImpl implements NumberList, Comparable<NumberList> {
 
     private static final int DEFAULT_BASE = 2; // двійкова система
     private static final int ALTERNATIVE_BASE = 3; // трійкова система
+    private static final int CHUNK_WORDS = 8; // кількість 64-бітних слів в одному вузлі
+    private static final int CHUNK_BITS = CHUNK_WORDS * Long.SIZE;
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 20; // цифр
+
+    // Двійковий формат: заголовок і цифри, упаковані як у вузлах
+    private static final int BINARY_MAGIC = 0x4E4C5354; // "NLST"
+    private static final byte BINARY_VERSION = 1;
+    private static final int BINARY_HEADER_SIZE = 24;
+    private static final int BINARY_BUFFER_SIZE = 1 << 16;
 
     private final int base;
+    private final int bitsPerDigit;
     private Node head;
     private int size;
     private int modCount = 0;
-
-    // Вузол кільцевого двонаправленого списку
+    private Cursor finger; // останній знайдений вузол для позиційного доступу
+    private boolean shared; // вузли кільця спільні зі знімком і не змінюються на місці
+    private NodeIndex nodeIndex; // вузли по порядку для поділу обходу, див. indexNodes()
+    private int hash;
+    private int hashModCount = -1; // значення modCount, для якого hash актуальний
+
+    // Результати перетворень незміненого списку
+    private Derived<BigInteger> cachedValue;
+    private Derived<String> cachedDecimal;
+    private Derived<NumberListImpl> cachedScale; // останній результат changeScale
+
+    /*
+     * Вузол кільцевого двонаправленого списку, що зберігає блок цифр.
+     * Цифри упаковані у 64-бітні слова по bits біт (для двійкової системи -
+     * 64 цифри на слово); цифра з індексом i займає біти [i*bits, (i+1)*bits).
+     * Біти за межами count завжди нульові.
+     */
     private static class Node {
-        byte data;
+        final long[] words = new long[CHUNK_WORDS];
+        final int bits;
+        int count;
         Node next;
         Node prev;
 
-        Node(byte data) {
-            this.data = data;
+        Node(int bits) {
+            this.bits = bits;
+        }
+
+        int capacity() {
+            return CHUNK_BITS / bits;
+        }
+
+        boolean isFull() {
+            return count == capacity();
+        }
+
+        byte get(int offset) {
+            int pos = offset * bits;
+            return (byte) ((words[pos >>> 6] >>> pos) & ((1 << bits) - 1));
+        }
+
+        void set(int offset, int digit) {
+            int pos = offset * bits;
+            long mask = ((1L << bits) - 1) << pos;
+            words[pos >>> 6] = (words[pos >>> 6] & ~mask) | ((long) digit << pos);
+        }
+
+        void append(int digit) {
+            set(count++, digit);
+        }
+
+        void insert(int offset, int digit) {
+            int pos = offset * bits;
+            int w = pos >>> 6;
+            // зсув старших цифр на одну позицію вгору, слово за словом
+            for (int i = (count * bits) >>> 6; i > w; i--) {
+                words[i] = (words[i] << bits) | (words[i - 1] >>> (Long.SIZE - bits));
+            }
+            long low = (1L << pos) - 1;
+            words[w] = (words[w] & low) | ((words[w] & ~low) << bits);
+            set(offset, digit);
+            count++;
+        }
+
+        byte removeAt(int offset) {
+            byte old = get(offset);
+            int pos = offset * bits;
+            int w = pos >>> 6;
+            long low = (1L << pos) - 1;
+            words[w] = (words[w] & low) | ((words[w] >>> bits) & ~low);
+            int last = ((count - 1) * bits) >>> 6;
+            for (int i = w; i < last; i++) {
+                words[i] |= words[i + 1] << (Long.SIZE - bits);
+                words[i + 1] >>>= bits;
+            }
+            count--;
+            return old;
+        }
+
+        // Запис цифри digit у позиції [from, to) пословно
+        void fill(int from, int to, int digit) {
+            long pattern = digit * Long.divideUnsigned(-1L, (1L << bits) - 1);
+            int lo = from * bits;
+            int hi = to * bits;
+            while (lo < hi) {
+                int end = Math.min(hi, ((lo >>> 6) + 1) << 6);
+                long mask = (end - lo == Long.SIZE ? -1L : (1L << (end - lo)) - 1) << lo;
+                words[lo >>> 6] = (words[lo >>> 6] & ~mask) | (pattern & mask);
+                lo = end;
+            }
+        }
+
+        // Додавання кількості кожної цифри вузла до гістограми; нулі - решта цифр
+        void countDigits(long[] histogram) {
+            long nonZero = 0;
+            for (int d = 1; d < histogram.length; d++) {
+                long n = DigitKernels.INSTANCE.countDigit(words, CHUNK_WORDS, bits, d);
+                histogram[d] += n;
+                nonZero += n;
+            }
+            histogram[0] += count - nonZero;
+        }
+
+        // Відкидання перших n цифр зсувом слів униз
+        void dropFirst(int n) {
+            int shift = n * bits;
+            int ws = shift >>> 6;
+            int bs = shift & 63;
+            for (int i = 0; i < CHUNK_WORDS; i++) {
+                long lo = i + ws < CHUNK_WORDS ? words[i + ws] : 0;
+                long hi = i + ws + 1 < CHUNK_WORDS ? words[i + ws + 1] : 0;
+                words[i] = bs == 0 ? lo : (lo >>> bs) | (hi << (Long.SIZE - bs));
+            }
+            count -= n;
+        }
+
+        // Відкидання цифр, починаючи з newCount
+        void truncate(int newCount) {
+            for (int i = newCount; i < count; i++) {
+                set(i, 0);
+            }
+            count = newCount;
+        }
+    }
+
+    // Позиція цифри у списку: вузол та індекс його першої цифри
+    private static final class Cursor {
+        final Node node;
+        final int start;
+        int modCount; // значення modCount, для якого позиція актуальна
+
+        Cursor(Node node, int start, int modCount) {
+            this.node = node;
+            this.start = start;
+            this.modCount = modCount;
+        }
+    }
+
+    /*
+     * Позиція обходу readDigits між викликами: наступний обхід починає
+     * пошук вузла з неї, поки список не змінювався.
+     */
+    static final class ReadPosition {
+        private Cursor cursor;
+    }
+
+    // Отримувач цифр обходу readDigits
+    interface DigitVisitor {
+        // Початок обходу списку з size цифр; повторний обхід починається знову з start
+        default void start(int size) {
+        }
+
+        // Цифра з індексом index; false зупиняє обхід
+        boolean visit(int index, int digit);
+    }
+
+    // Результат readDigits, якщо список змінився під час обходу
+    static final int READ_CHANGED = -2;
+
+    // Вузли кільця по порядку та індекси їхніх перших цифр; starts[nodes.length] == size
+    private static final class NodeIndex {
+        final Node[] nodes;
+        final int[] starts;
+        final int modCount; // значення modCount, для якого індекс актуальний
+
+        NodeIndex(Node[] nodes, int[] starts, int modCount) {
+            this.nodes = nodes;
+            this.starts = starts;
+            this.modCount = modCount;
+        }
+    }
+
+    /*
+     * Результат перетворення, дійсний для значення modCount списку. Значення
+     * тримається через SoftReference, тож великі результати звільняються
+     * при нестачі пам'яті і за потреби обчислюються знову.
+     */
+    private static final class Derived<T> {
+        final int modCount;
+        final SoftReference<T> value;
+
+        Derived(int modCount, T value) {
+            this.modCount = modCount;
+            this.value = new SoftReference<>(value);
+        }
+    }
+
+    // Збережене значення, якщо список відтоді не змінювався, інакше null
+    private <T> T cached(Derived<T> entry) {
+        return entry == null || entry.modCount != modCount ? null : entry.value.get();
+    }
+
+    /*
+     * Прохід по цифрах від хвоста до голови через prev, молодша цифра першою.
+     * Після вичерпання заданої кількості цифр читаються нулі.
+     */
+    private static final class TailWalker {
+        private Node node;
+        private int offset;
+        private int remaining;
+
+        TailWalker(NumberListImpl list, int digits) {
+            this.node = list.isEmpty() ? null : list.head.prev;
+            this.offset = node == null ? 0 : node.count;
+            this.remaining = digits;
+        }
+
+        // Наступна, старша цифра
+        int next() {
+            if (remaining == 0) return 0;
+            advance();
+            return node.get(offset);
+        }
+
+        // Запис наступної, старшої цифри
+        void put(int digit) {
+            advance();
+            node.set(offset, digit);
+        }
+
+        private void advance() {
+            remaining--;
+            if (offset == 0) {
+                node = node.prev;
+                offset = node.count;
+            }
+            offset--;
         }
     }
 
@@ -59,34 +306,42 @@ public class NumberListImpl implements NumberList {
      * Default constructor. Returns empty <tt>NumberListImpl</tt>
      */
     public NumberListImpl() {
-        this.base = DEFAULT_BASE;
-        this.head = null;
-        this.size = 0;
+        this(DEFAULT_BASE);
     }
 
     /**
      * Constructor with custom base.
      */
-    private NumberListImpl(int base) {
+    NumberListImpl(int base) {
         this.base = base;
+        this.bitsPerDigit = bitsPerDigit(base);
         this.head = null;
         this.size = 0;
     }
 
     /**
      * Constructs new <tt>NumberListImpl</tt> by <b>decimal</b> number
-     * from file, defined in string format.
+     * from file, defined in string format.<p>
+     *
+     * The file is read through a memory mapping, so its text is never
+     * loaded into the heap. Missing or blank file gives empty list.
      *
      * @param file - file where number is stored.
+     * @throws NumberFormatException if the first line of the file is not
+     * a non-negative decimal number.
+     * @throws UncheckedIOException if the file exists but cannot be read.
      */
     public NumberListImpl(File file) {
         this();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line = reader.readLine();
-            if (line != null && !line.trim().isEmpty()) {
-                initFromDecimalString(line.trim());
-            }
-        } catch (Exception e) {}
+        BigInteger value;
+        try {
+            value = DecimalReader.read(file.toPath());
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (value != null) appendValue(value);
     }
 
     /**
@@ -107,14 +362,23 @@ public class NumberListImpl implements NumberList {
         try {
             BigInteger decimalValue = new BigInteger(decimalStr.trim());
             if (decimalValue.compareTo(BigInteger.ZERO) < 0) return;
-            
-            String inBase = decimalValue.toString(base);
-            for (char c : inBase.toCharArray()) {
-                add((byte) Character.getNumericValue(c));
-            }
+
+            appendValue(decimalValue);
         } catch (NumberFormatException e) {}
     }
 
+    // Додавання в кінець списку цифр невід'ємного числа value
+    private void appendValue(BigInteger value) {
+        if (value.signum() == 0) {
+            append(0);
+        } else if (base == 2) {
+            // біти беруться безпосередньо з двійкового представлення
+            appendWords(wordsOf(value), value.bitLength());
+        } else {
+            RadixConverter.toDigits(value, base, 0, this::append);
+        }
+    }
+
     /**
      * Saves the number, stored in the list, into specified file
      * in <b>decimal</b> scale of notation.
@@ -122,13 +386,223 @@ public class NumberListImpl implements NumberList {
      * @param file - file where number has to be stored.
      */
     public void saveList(File file) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write(toDecimalString());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeTo(channel);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Writes the number, stored in the list, to <tt>out</tt>
+     * in <b>decimal</b> scale of notation.<p>
+     *
+     * Digits are produced and written in blocks, without building
+     * the whole decimal string.
+     *
+     * @param out - destination of decimal digits.
+     * @throws IOException if <tt>out</tt> fails to accept the digits.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        String decimal = cached(cachedDecimal);
+        if (decimal != null) {
+            out.append(decimal);
+            return;
+        }
+        DecimalWriter.write(toBigInteger(), out);
+    }
+
+
+    /**
+     * Writes the number, stored in the list, to <tt>out</tt> as ASCII
+     * characters in <b>decimal</b> scale of notation.<p>
+     *
+     * Digits are produced and written in blocks, without building
+     * the whole decimal string.
+     *
+     * @param out - channel for decimal digits, e.g. file or socket.
+     * @throws IOException if writing to the channel fails.
+     */
+    public void writeTo(WritableByteChannel out) throws IOException {
+        String decimal = cached(cachedDecimal);
+        if (decimal != null) {
+            ByteBuffer buffer = StandardCharsets.US_ASCII.encode(CharBuffer.wrap(decimal));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            return;
+        }
+        DecimalWriter.write(toBigInteger(), out);
+    }
+
+
+    /**
+     * Saves the list into specified file in compact binary format.<p>
+     *
+     * The file starts with a 24-byte little-endian header: magic number,
+     * format version, base, bits per digit, digit count and CRC32 of the
+     * payload. The payload is the digits packed the same way as in memory,
+     * so no radix conversion takes place.
+     *
+     * @param path - file where the list has to be stored.
+     * @throws IOException if writing to the file fails.
+     */
+    public void saveBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BINARY_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            channel.position(BINARY_HEADER_SIZE);
+
+            // цифри вузлів дописуються суцільним потоком бітів
+            long pending = 0;
+            int pendingBits = 0;
+            if (!isEmpty()) {
+                Node curr = head;
+                do {
+                    int total = curr.count * bitsPerDigit;
+                    for (int w = 0; w * Long.SIZE < total; w++) {
+                        int n = Math.min(Long.SIZE, total - w * Long.SIZE);
+                        long word = curr.words[w];
+                        pending |= word << pendingBits;
+                        pendingBits += n;
+                        if (pendingBits >= Long.SIZE) {
+                            if (!buffer.hasRemaining()) flushBinary(buffer, channel, crc);
+                            buffer.putLong(pending);
+                            pendingBits -= Long.SIZE;
+                            pending = pendingBits == 0 ? 0 : word >>> (n - pendingBits);
+                        }
+                    }
+                    curr = curr.next;
+                } while (curr != head);
+            }
+            if (pendingBits > 0) {
+                if (!buffer.hasRemaining()) flushBinary(buffer, channel, crc);
+                buffer.putLong(pending);
+            }
+            flushBinary(buffer, channel, crc);
+
+            ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(BINARY_MAGIC)
+                    .put(BINARY_VERSION)
+                    .put((byte) base)
+                    .put((byte) bitsPerDigit)
+                    .put((byte) 0)
+                    .putLong(size)
+                    .putLong(crc.getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+
+    /**
+     * Loads the list from file, written by {@link #saveBinary(Path)}.
+     *
+     * @param path - file where the list is stored.
+     * @return loaded <tt>NumberListImpl</tt>.
+     * @throws IOException if the file cannot be read, has unknown format
+     * or its checksum does not match.
+     */
+    public static NumberListImpl loadBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            header.flip();
+
+            int magic = header.getInt();
+            byte version = header.get();
+            int base = header.get();
+            int bits = header.get();
+            header.get();
+            long size = header.getLong();
+            long checksum = header.getLong();
+
+            if (magic != BINARY_MAGIC || version != BINARY_VERSION)
+                throw new IOException("Unknown file format");
+            if (base < 2 || base > RadixConverter.MAX_BASE || bits != bitsPerDigit(base)
+                    || size < 0 || size > Integer.MAX_VALUE)
+                throw new IOException("Corrupted header");
+            long payloadWords = (size * bits + Long.SIZE - 1) / Long.SIZE;
+            if (channel.size() != BINARY_HEADER_SIZE + payloadWords * Long.BYTES)
+                throw new IOException("Unexpected file size");
+
+            // слова читаються блоками і копіюються у вузли без перетворень
+            NumberListImpl list = new NumberListImpl(base);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BINARY_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            long remaining = size;
+            Node node = null;
+            int filled = CHUNK_WORDS;
+            long payloadBytes = payloadWords * Long.BYTES;
+            for (long read = 0; read < payloadBytes; read += buffer.limit()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), payloadBytes - read));
+                readFully(channel, buffer);
+                buffer.flip();
+                crc.update(buffer.duplicate());
+
+                while (buffer.hasRemaining()) {
+                    if (filled == CHUNK_WORDS) {
+                        node = new Node(bits);
+                        node.count = (int) Math.min(node.capacity(), remaining);
+                        list.linkAfter(list.isEmpty() ? null : list.head.prev, node);
+                        list.size += node.count;
+                        remaining -= node.count;
+                        filled = 0;
+                    }
+                    int n = Math.min(CHUNK_WORDS - filled, buffer.remaining() / Long.BYTES);
+                    buffer.asLongBuffer().get(node.words, filled, n);
+                    buffer.position(buffer.position() + n * Long.BYTES);
+                    filled += n;
+                    if (filled * Long.SIZE >= node.count * bits) filled = CHUNK_WORDS;
+                }
+            }
+
+            if (crc.getValue() != checksum)
+                throw new IOException("Checksum mismatch");
+            list.validateDigits();
+            return list;
         }
     }
 
+    private static void flushBinary(ByteBuffer buffer, FileChannel channel, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) throw new IOException("Unexpected end of file");
+        }
+    }
+
+    // Перевірка завантажених цифр: значення менші за основу, зайві біти нульові
+    private void validateDigits() throws IOException {
+        if (isEmpty()) return;
+
+        Node curr = head;
+        do {
+            int used = curr.count * bitsPerDigit;
+            for (int w = used >>> 6; w < CHUNK_WORDS; w++) {
+                long mask = w == used >>> 6 ? (1L << used) - 1 : 0;
+                if ((curr.words[w] & ~mask) != 0) throw new IOException("Corrupted payload");
+            }
+            if (DigitKernels.INSTANCE.hasDigitAtLeast(curr.words, CHUNK_WORDS, bitsPerDigit, base)) {
+                throw new IOException("Corrupted payload");
+            }
+            curr = curr.next;
+        } while (curr != head);
+    }
+
 
     /**
      * Returns student's record book number, which has 4 decimal digits.
@@ -149,24 +623,62 @@ public class NumberListImpl implements NumberList {
      * @return <tt>NumberListImpl</tt> in other scale of notation.
      */
     public NumberListImpl changeScale() {
-        BigInteger decimalValue = new BigInteger(toDecimalString());
-        NumberListImpl result = new NumberListImpl(ALTERNATIVE_BASE);
+        return changeScale(ALTERNATIVE_BASE);
+    }
 
-        if (decimalValue.equals(BigInteger.ZERO)) {
-            result.add((byte)0);
-            return result;
-        }
 
-        // Перетворення вручну у трійкову систему
-        BigInteger baseAlt = BigInteger.valueOf(ALTERNATIVE_BASE);
-        while (decimalValue.compareTo(BigInteger.ZERO) > 0) {
-            BigInteger[] divRem = decimalValue.divideAndRemainder(baseAlt);
-            // додаємо розряд на початок списку
-            result.add(0, divRem[1].byteValue());
-            decimalValue = divRem[0];
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the same number
+     * in the specified scale of notation.<p>
+     *
+     * Does not impact the original list. The converted digits are kept
+     * until the list changes, so repeated calls only copy them.
+     *
+     * @param base - scale of notation, from 2 to 16.
+     *
+     * @return <tt>NumberListImpl</tt> in the specified scale of notation.
+     */
+    public NumberListImpl changeScale(int base) {
+        if (base < 2 || base > RadixConverter.MAX_BASE)
+            throw new IllegalArgumentException("Unsupported base: " + base);
+
+        NumberListImpl result = cached(cachedScale);
+        if (result == null || result.base != base) {
+            // цифри додаються в кінець по порядку, від старшої до молодшої
+            result = new NumberListImpl(base);
+            result.appendValue(toBigInteger());
+            cachedScale = new Derived<>(modCount, result);
         }
 
-        return result;  
+        // збережений результат лишається незмінним, назовні віддається копія
+        NumberListImpl copy = result.copy();
+        copy.cachedValue = new Derived<>(copy.modCount, toBigInteger());
+        return copy;
+    }
+
+
+    /**
+     * Returns immutable snapshot of the list in O(1) time.<p>
+     *
+     * The snapshot shares digits with this list instead of copying them.
+     * Appending digits to this list keeps them shared; the first change
+     * of existing digits after the snapshot copies the nodes of this list
+     * once, so the snapshot never sees later changes.
+     *
+     * @return <tt>PersistentNumberList</tt> with the current digits.
+     */
+    public PersistentNumberList snapshot() {
+        Node first = head;
+        int n = size;
+        shared = n > 0;
+        return new PersistentNumberList(base, n, sink -> {
+            Node curr = first;
+            for (int left = n; left > 0; curr = curr.next) {
+                int count = Math.min(curr.count, left);
+                if (count > 0) sink.accept(curr.words, count);
+                left -= count;
+            }
+        });
     }
 
 
@@ -183,198 +695,715 @@ public class NumberListImpl implements NumberList {
     public NumberListImpl additionalOperation(NumberList arg) {
         if (arg == null) throw new IllegalArgumentException("Argument cannot be null");
 
-        // Використовуємо toDecimalString для універсальності операндів
-        BigInteger n1 = new BigInteger(this.toDecimalString());
-        BigInteger n2 = new BigInteger(((NumberListImpl)arg).toDecimalString());
+        // AND виконується над 64-бітними словами, вирівняними за молодшою цифрою
+        long[] n1 = this.binaryWords();
+        long[] n2 = valueOf(arg, base).binaryWords();
 
-        BigInteger andResult = n1.and(n2);
+        long[] andResult = new long[Math.min(n1.length, n2.length)];
+        DigitKernels.INSTANCE.and(n1, n2, andResult, andResult.length);
 
-        // Створюємо результат. Конструктор за замовчуванням встановить base=2
+        // Результат у двійковій системі без старших нулів
         NumberListImpl result = new NumberListImpl();
-        
-        // Використовуємо ініціалізацію через BigInteger, щоб не писати цикли вручну
-        String binary = andResult.toString(2); 
-        for (char c : binary.toCharArray()) {
-            result.add((byte) Character.getNumericValue(c));
-        }
+        result.appendWords(andResult, bitLength(andResult));
         return result;
     }
 
 
     /**
-     * Returns string representation of number, stored in the list
-     * in <b>decimal</b> scale of notation.
+     * Returns new <tt>NumberListImpl</tt> which represents the sum of
+     * this number and <tt>arg</tt>, in the scale of notation of this list.<p>
      *
-     * @return string representation in <b>decimal</b> scale.
+     * Digits are added in a single carry pass from the tail of the ring,
+     * without conversion to other scales. Does not impact the original list.
+     *
+     * @param arg - second addend.
+     *
+     * @return sum without leading zeros.
      */
-    public String toDecimalString() {
-        if (isEmpty()) return "0";
-
-        BigInteger decimal = BigInteger.ZERO;
-        BigInteger baseVal = BigInteger.valueOf(base);
-
-        Node curr = head;
-        for (int i = 0; i < size; i++) {
-            decimal = decimal.multiply(baseVal).add(BigInteger.valueOf(curr.data));
-            curr = curr.next;
+    public NumberListImpl add(NumberList arg) {
+        NumberListImpl other = operand(arg);
+        int n1 = this.size - this.leadingZeros();
+        int n2 = other.size - other.leadingZeros();
+
+        NumberListImpl result = zeros(base, Math.max(n1, n2) + 1);
+        TailWalker a = new TailWalker(this, n1);
+        TailWalker b = new TailWalker(other, n2);
+        TailWalker r = new TailWalker(result, result.size);
+        int carry = 0;
+        for (int i = Math.max(n1, n2); i > 0; i--) {
+            int sum = a.next() + b.next() + carry;
+            carry = sum >= base ? 1 : 0;
+            r.put(sum - carry * base);
         }
+        r.put(carry);
 
-        return decimal.toString();
+        result.stripLeadingZeros();
+        return result;
     }
 
 
-    @Override
-    public String toString() {
-        if (isEmpty()) return "0";
-
-        StringBuilder sb = new StringBuilder();
-        Node curr = head;
-
-        for (int i = 0; i < size; i++) {
-            sb.append(curr.data);
-            curr = curr.next;
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the difference of
+     * this number and <tt>arg</tt>, in the scale of notation of this list.<p>
+     *
+     * Digits are subtracted in a single borrow pass from the tail of the ring,
+     * without conversion to other scales. Does not impact the original list.
+     *
+     * @param arg - subtrahend, not greater than this number.
+     *
+     * @return difference without leading zeros.
+     * @throws ArithmeticException if <tt>arg</tt> is greater than this number.
+     */
+    public NumberListImpl subtract(NumberList arg) {
+        NumberListImpl other = operand(arg);
+        int n1 = this.size - this.leadingZeros();
+        int n2 = other.size - other.leadingZeros();
+        if (n1 < n2) throw new ArithmeticException("Negative result");
+
+        NumberListImpl result = zeros(base, Math.max(n1, 1));
+        TailWalker a = new TailWalker(this, n1);
+        TailWalker b = new TailWalker(other, n2);
+        TailWalker r = new TailWalker(result, result.size);
+        int borrow = 0;
+        for (int i = n1; i > 0; i--) {
+            int diff = a.next() - b.next() - borrow;
+            borrow = diff < 0 ? 1 : 0;
+            r.put(diff + borrow * base);
         }
+        if (borrow != 0) throw new ArithmeticException("Negative result");
 
-        return sb.toString();
+        result.stripLeadingZeros();
+        return result;
     }
 
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof NumberList)) return false;
-
-        NumberList other = (NumberList) o;
-        
-        if (this.size() != other.size()) return false;
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the product of
+     * this number and <tt>arg</tt>, in the scale of notation of this list.<p>
+     *
+     * Digits are grouped into limbs of several digits each, and the limbs
+     * are multiplied by schoolbook, Karatsuba or Toom-3 algorithm depending
+     * on their length. Does not impact the original list.
+     *
+     * @param arg - second factor.
+     *
+     * @return product without leading zeros.
+     */
+    public NumberListImpl multiply(NumberList arg) {
+        NumberListImpl other = operand(arg);
+        int k = LimbArithmetic.digitsPerLimb(base);
+        int radix = limbRadix(k);
 
-        Node curr = this.head;
-        for (int i = 0; i < size; i++) {
-            if (!Byte.valueOf(curr.data).equals(other.get(i))) return false;
-            curr = curr.next;
-        }
-        return true;
+        int[] product = LimbArithmetic.multiply(this.toLimbs(k), other.toLimbs(k), radix);
+        return fromLimbs(product, base, k);
     }
 
 
-    @Override
-    public int size() {
-        return size;
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the integer
+     * quotient of this number and <tt>arg</tt>, in the scale of notation
+     * of this list. Does not impact the original list.
+     *
+     * @param arg - divisor.
+     *
+     * @return quotient without leading zeros.
+     * @throws ArithmeticException if <tt>arg</tt> is zero.
+     */
+    public NumberListImpl divide(NumberList arg) {
+        return divideAndRemainder(arg)[0];
     }
 
-    @Override
-    public boolean isEmpty() {
-        return size == 0;
-    }
 
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the remainder
+     * of division of this number by <tt>arg</tt>, in the scale of notation
+     * of this list. Does not impact the original list.
+     *
+     * @param arg - divisor.
+     *
+     * @return remainder without leading zeros.
+     * @throws ArithmeticException if <tt>arg</tt> is zero.
+     */
+    public NumberListImpl mod(NumberList arg) {
+        return divideAndRemainder(arg)[1];
+    }
 
-    @Override
-    public boolean contains(Object o) {
-        if (!(o instanceof Byte)) return false;
-        if (isEmpty()) return false;
 
-        byte target = (Byte) o;
-        Node curr = head;
+    /**
+     * Returns quotient and remainder of division of this number by
+     * <tt>arg</tt>, both in the scale of notation of this list.<p>
+     *
+     * Divisor of a single limb takes one linear pass over the digits, short
+     * divisors are handled by schoolbook division and long ones by recursive
+     * Burnikel-Ziegler division, which reduces to multiplication. Does not
+     * impact the original list.
+     *
+     * @param arg - divisor.
+     *
+     * @return array of quotient and remainder.
+     * @throws ArithmeticException if <tt>arg</tt> is zero.
+     */
+    public NumberListImpl[] divideAndRemainder(NumberList arg) {
+        NumberListImpl other = operand(arg);
+        int k = LimbArithmetic.digitsPerLimb(base);
+        int radix = limbRadix(k);
 
-        for (int i = 0; i < size; i++) {
-            if (curr.data == target) return true;
-            curr = curr.next;
-        }
-        return false;
+        int[][] qr = LimbArithmetic.divideAndRemainder(this.toLimbs(k), other.toLimbs(k), radix);
+        return new NumberListImpl[] {fromLimbs(qr[0], base, k), fromLimbs(qr[1], base, k)};
     }
 
 
+    /**
+     * Compares numbers, stored in this list and in <tt>o</tt>. Leading zeros
+     * are ignored, so the order is not consistent with {@link #equals}, which
+     * compares digits.<p>
+     *
+     * Numbers of different length are ordered without reading their digits,
+     * otherwise digits are compared from the most significant one.
+     *
+     * @param o - number to compare with.
+     *
+     * @return negative value, zero or positive value if this number is
+     * less than, equal to or greater than <tt>o</tt>.
+     */
     @Override
-    public Iterator<Byte> iterator() {
-        return new Iterator<Byte>() {
-            private Node current = head;
-            private int visited = 0;
-
-            @Override
-            public boolean hasNext() {
-                return visited < size;
+    public int compareTo(NumberList o) {
+        NumberListImpl other = operand(o);
+        int z1 = this.leadingZeros();
+        int z2 = other.leadingZeros();
+        int n = this.size - z1;
+        if (n != other.size - z2) return n < other.size - z2 ? -1 : 1;
+        if (n == 0) return 0;
+
+        // прохід від перших значущих цифр обох чисел
+        Cursor c1 = this.cursor(z1);
+        Cursor c2 = other.cursor(z2);
+        Node node1 = c1.node;
+        Node node2 = c2.node;
+        int i1 = z1 - c1.start;
+        int i2 = z2 - c2.start;
+        for (int k = 0; k < n; k++) {
+            if (i1 == node1.count) {
+                node1 = node1.next;
+                i1 = 0;
             }
-
-            @Override
-            public Byte next() {
-                Byte val = current.data;
-                current = current.next;
-                visited++;
-                return val;
+            if (i2 == node2.count) {
+                node2 = node2.next;
+                i2 = 0;
             }
-        };
+            int diff = node1.get(i1++) - node2.get(i2++);
+            if (diff != 0) return diff < 0 ? -1 : 1;
+        }
+        return 0;
     }
 
 
-
-    @Override
-    public Object[] toArray() {
-        Object[] arr = new Object[size];
-        Node curr = head;
-        for (int i = 0; i < size; i++) {
-            arr[i] = curr.data;
-            curr = curr.next;
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents bitwise OR of
+     * this number and <tt>arg</tt>, in the scale of notation of this list.<p>
+     *
+     * Binary lists are processed by 64-bit words, numbers in other scales
+     * are converted to binary words and back. Does not impact the original list.
+     *
+     * @param arg - second argument of the operation.
+     *
+     * @return <tt>this | arg</tt> without leading zeros.
+     */
+    public NumberListImpl or(NumberList arg) {
+        long[] n1 = this.binaryWords();
+        long[] n2 = bitwiseOperand(arg).binaryWords();
+        if (n1.length < n2.length) {
+            long[] t = n1;
+            n1 = n2;
+            n2 = t;
         }
-        return arr;
+
+        long[] orResult = n1.clone();
+        DigitKernels.INSTANCE.or(n1, n2, orResult, n2.length);
+        return fromWords(orResult);
     }
 
 
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents bitwise XOR of
+     * this number and <tt>arg</tt>, in the scale of notation of this list.
+     * Does not impact the original list.
+     *
+     * @param arg - second argument of the operation.
+     *
+     * @return <tt>this ^ arg</tt> without leading zeros.
+     */
+    public NumberListImpl xor(NumberList arg) {
+        long[] n1 = this.binaryWords();
+        long[] n2 = bitwiseOperand(arg).binaryWords();
+        if (n1.length < n2.length) {
+            long[] t = n1;
+            n1 = n2;
+            n2 = t;
+        }
 
-    @Override
-    public <T> T[] toArray(T[] a) {
-        return null;
+        long[] xorResult = n1.clone();
+        DigitKernels.INSTANCE.xor(n1, n2, xorResult, n2.length);
+        return fromWords(xorResult);
     }
 
 
-    @Override
-    public boolean add(Byte e) {
-        if (e == null) throw new NullPointerException();
-        if (e < 0 || e >= base)
-            throw new IllegalArgumentException("Digit out of range");
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents bits of this
+     * number that are not set in <tt>arg</tt>, in the scale of notation
+     * of this list. Does not impact the original list.
+     *
+     * @param arg - mask of bits to clear.
+     *
+     * @return <tt>this & ~arg</tt> without leading zeros.
+     */
+    public NumberListImpl andNot(NumberList arg) {
+        long[] n1 = this.binaryWords();
+        long[] n2 = bitwiseOperand(arg).binaryWords();
 
-        Node node = new Node(e);
+        long[] andNotResult = n1.clone();
+        DigitKernels.INSTANCE.andNot(n1, n2, andNotResult, Math.min(n1.length, n2.length));
+        return fromWords(andNotResult);
+    }
 
-        if (isEmpty()) {
-            head = node;
-            head.next = head;
-            head.prev = head;
-        } else {
-            Node tail = head.prev;
-            tail.next = node;
-            node.prev = tail;
-            node.next = head;
-            head.prev = node;
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents this number
+     * multiplied by <tt>2^k</tt>, in the scale of notation of this list.<p>
+     *
+     * Unlike {@link #shiftLeft()}, this is a numeric shift: digits are not
+     * rotated. Does not impact the original list.
+     *
+     * @param k - number of bits to shift by.
+     *
+     * @return <tt>this << k</tt> without leading zeros.
+     * @throws IllegalArgumentException if <tt>k</tt> is negative.
+     */
+    public NumberListImpl shiftLeftBits(int k) {
+        if (k < 0) throw new IllegalArgumentException("Negative shift: " + k);
+
+        long[] value = binaryWords();
+        int ws = k >>> 6;
+        int bs = k & 63;
+        long[] shifted = new long[value.length + ws + 1];
+        for (int i = 0; i < value.length; i++) {
+            shifted[i + ws] |= value[i] << bs;
+            if (bs != 0) shifted[i + ws + 1] = value[i] >>> (Long.SIZE - bs);
         }
+        return fromWords(shifted);
+    }
 
-        size++;
-        modCount++;
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents this number
+     * divided by <tt>2^k</tt> and rounded down, in the scale of notation of
+     * this list.<p>
+     *
+     * Unlike {@link #shiftRight()}, this is a numeric shift: digits are not
+     * rotated. Does not impact the original list.
+     *
+     * @param k - number of bits to shift by.
+     *
+     * @return <tt>this >> k</tt> without leading zeros.
+     * @throws IllegalArgumentException if <tt>k</tt> is negative.
+     */
+    public NumberListImpl shiftRightBits(int k) {
+        if (k < 0) throw new IllegalArgumentException("Negative shift: " + k);
+
+        long[] value = binaryWords();
+        int ws = k >>> 6;
+        int bs = k & 63;
+        long[] shifted = new long[Math.max(0, value.length - ws)];
+        for (int i = 0; i < shifted.length; i++) {
+            shifted[i] = value[i + ws] >>> bs;
+            if (bs != 0 && i + ws + 1 < value.length) shifted[i] |= value[i + ws + 1] << (Long.SIZE - bs);
+        }
+        return fromWords(shifted);
+    }
+
+
+    /**
+     * Returns string representation of number, stored in the list
+     * in <b>decimal</b> scale of notation. The string is kept until
+     * the list changes.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        if (isEmpty()) return "0";
+
+        String decimal = cached(cachedDecimal);
+        if (decimal == null) {
+            decimal = RadixConverter.toString(toBigInteger(), 10);
+            cachedDecimal = new Derived<>(modCount, decimal);
+        }
+        return decimal;
+    }
+
+
+    /*
+     * Значення числа; для двійкової системи будується напряму з упакованих слів.
+     * Результат зберігається до наступної зміни списку.
+     */
+    private BigInteger toBigInteger() {
+        if (isEmpty()) return BigInteger.ZERO;
+
+        BigInteger value = cached(cachedValue);
+        if (value == null) {
+            value = base != 2
+                    ? RadixConverter.toBigInteger(toByteArray(), 0, size, base)
+                    : bigIntegerOf(toWords());
+            cachedValue = new Derived<>(modCount, value);
+        }
+        return value;
+    }
+
+
+    // Невід'ємне значення, записане словами, молодше слово першим
+    private static BigInteger bigIntegerOf(long[] words) {
+        byte[] magnitude = new byte[words.length * Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            long word = words[words.length - 1 - i];
+            for (int b = 0; b < Long.BYTES; b++) {
+                magnitude[i * Long.BYTES + b] = (byte) (word >>> (Long.SIZE - Byte.SIZE * (b + 1)));
+            }
+        }
+        return new BigInteger(1, magnitude);
+    }
+
+
+    // Двійкове значення числа словами, молодше слово першим
+    private long[] binaryWords() {
+        return base == 2 ? toWords() : wordsOf(toBigInteger());
+    }
+
+
+    /**
+     * Returns the number of one bits in the binary representation
+     * of the number, stored in the list.
+     *
+     * @return number of one bits.
+     */
+    public int bitCount() {
+        if (base != 2) return toBigInteger().bitCount();
+        if (isEmpty()) return 0;
+
+        int count = 0;
+        Node curr = head;
+        do {
+            for (long word : curr.words) {
+                count += Long.bitCount(word);
+            }
+            curr = curr.next;
+        } while (curr != head);
+        return count;
+    }
+
+
+    /**
+     * Returns the number of bits in the minimal binary representation
+     * of the number, stored in the list.
+     *
+     * @return length of the number in bits.
+     */
+    public int bitLength() {
+        if (base != 2) return toBigInteger().bitLength();
+
+        return size - leadingZeros();
+    }
+
+
+    @Override
+    public String toString() {
+        if (isEmpty()) return "0";
+
+        StringBuilder sb = new StringBuilder(size);
+        Node curr = head;
+        do {
+            for (int i = 0; i < curr.count; i++) {
+                sb.append(Character.toUpperCase(Character.forDigit(curr.get(i), base)));
+            }
+            curr = curr.next;
+        } while (curr != head);
+
+        return sb.toString();
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NumberList)) return false;
+
+        NumberList other = (NumberList) o;
+        
+        if (this.size() != other.size()) return false;
+
+        if (isEmpty()) return true;
+        if (other instanceof NumberListImpl) {
+            NumberListImpl list = (NumberListImpl) other;
+            // різні кешовані хеші відкидають рівність без обходу цифр
+            if (hashModCount == modCount && list.hashModCount == list.modCount && hash != list.hash) return false;
+            return equalDigits(list);
+        }
+
+        PrimitiveIterator.OfInt it = other.digitIterator();
+        Node curr = this.head;
+        do {
+            for (int i = 0; i < curr.count; i++) {
+                if (curr.get(i) != it.nextInt()) return false;
+            }
+            curr = curr.next;
+        } while (curr != head);
+        return true;
+    }
+
+    /**
+     * Returns hash code of the list as defined by {@link List#hashCode()}.
+     * The value is cached until the list changes; appending a digit and
+     * <tt>set</tt> update the cached value without walking the list.
+     */
+    @Override
+    public int hashCode() {
+        if (hashModCount != modCount) {
+            int h = 1;
+            if (!isEmpty()) {
+                Node curr = head;
+                do {
+                    for (int i = 0; i < curr.count; i++) {
+                        h = 31 * h + curr.get(i);
+                    }
+                    curr = curr.next;
+                } while (curr != head);
+            }
+            hash = h;
+            hashModCount = modCount;
+        }
+        return hash;
+    }
+
+    // Чи хеш уже збережений: тоді hashCode лише читає поля списку
+    boolean hashCached() {
+        return hashModCount == modCount;
+    }
+
+    // 31^n за модулем 2^32 - вага цифри, за якою йде n цифр, у хеші списку
+    private static int power31(int n) {
+        int result = 1;
+        for (int p = 31; n > 0; n >>= 1, p *= p) {
+            if ((n & 1) != 0) result *= p;
+        }
+        return result;
+    }
+
+
+    /*
+     * Порівняння цифр двох непорожніх списків однакового розміру. Вузли з
+     * однаковою шириною цифри, що починаються з однієї позиції і мають
+     * однаковий розмір, порівнюються цілими словами, решта - по цифрі.
+     */
+    private boolean equalDigits(NumberListImpl other) {
+        Node a = this.head;
+        Node b = other.head;
+        int i = 0;
+        int j = 0;
+        for (int remaining = size; remaining > 0; ) {
+            if (i == 0 && j == 0 && a.count == b.count && a.bits == b.bits) {
+                if (!DigitKernels.INSTANCE.equal(a.words, b.words, CHUNK_WORDS)) return false;
+                remaining -= a.count;
+                a = a.next;
+                b = b.next;
+                continue;
+            }
+
+            if (a.get(i++) != b.get(j++)) return false;
+            remaining--;
+            if (i == a.count) {
+                a = a.next;
+                i = 0;
+            }
+            if (j == b.count) {
+                b = b.next;
+                j = 0;
+            }
+        }
         return true;
     }
 
 
     @Override
-    public boolean remove(Object o) {
-        if (!(o instanceof Byte) || isEmpty()) return false;
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Byte)) return false;
+        if (isEmpty()) return false;
+
+        return indexOf(o) >= 0;
+    }
+
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return new NumberListIterator();
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt digitIterator() {
+        NumberListIterator it = new NumberListIterator();
+        return new PrimitiveIterator.OfInt() {
+            public boolean hasNext() { return it.hasNext(); }
+            public int nextInt() { return it.nextDigit(); }
+            public void remove() { it.remove(); }
+        };
+    }
+
+    /**
+     * Returns spliterator over digits of the list. It splits at node
+     * boundaries, so parallel streams divide the list into equal parts
+     * without walking the ring.
+     */
+    @Override
+    public Spliterator<Byte> spliterator() {
+        return new ByteSpliterator(new DigitSpliterator());
+    }
+
+    /**
+     * Returns sequential <tt>IntStream</tt> of the list digits in order,
+     * without boxing. Call <tt>parallel()</tt> on the stream to process
+     * digits in parallel.
+     *
+     * @return stream of digits.
+     */
+    @Override
+    public IntStream digits() {
+        return StreamSupport.intStream(new DigitSpliterator(), false);
+    }
+
+    @Override
+    public void forEachDigit(IntConsumer action) {
+        Objects.requireNonNull(action);
+        if (isEmpty()) return;
 
-        byte target = (Byte) o;
         Node curr = head;
+        do {
+            for (int i = 0; i < curr.count; i++) {
+                action.accept(curr.get(i));
+            }
+            curr = curr.next;
+        } while (curr != head);
+    }
 
-        for (int i = 0; i < size; i++) {
-            if (curr.data == target) {
-                if (size == 1) {
-                    head = null;
-                } else {
-                    curr.prev.next = curr.next;
-                    curr.next.prev = curr.prev;
-                    if (curr == head) head = curr.next;
+
+
+    @Override
+    public Object[] toArray() {
+        Object[] arr = new Object[size];
+        if (isEmpty()) return arr;
+
+        Node curr = head;
+        int index = 0;
+        do {
+            for (int i = 0; i < curr.count; i++) {
+                arr[index++] = curr.get(i);
+            }
+            curr = curr.next;
+        } while (curr != head);
+        return arr;
+    }
+
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        T[] arr = a.length >= size
+                ? a : (T[]) Array.newInstance(a.getClass().getComponentType(), size);
+        if (!isEmpty()) {
+            Node curr = head;
+            int index = 0;
+            do {
+                for (int i = 0; i < curr.count; i++) {
+                    arr[index++] = (T) Byte.valueOf(curr.get(i));
                 }
-                size--;
-                modCount++;
-                return true;
+                curr = curr.next;
+            } while (curr != head);
+        }
+        if (arr.length > size) arr[size] = null;
+        return arr;
+    }
+
+    /**
+     * Returns array of the list digits in order, most significant
+     * digit first.
+     *
+     * @return new array of digits.
+     */
+    @Override
+    public byte[] toByteArray() {
+        byte[] digits = new byte[size];
+        if (isEmpty()) return digits;
+
+        Node curr = head;
+        int index = 0;
+        do {
+            for (int i = 0; i < curr.count; i++) {
+                digits[index++] = curr.get(i);
             }
             curr = curr.next;
+        } while (curr != head);
+        return digits;
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        if (e == null) throw new NullPointerException();
+        if (e < 0 || e >= base)
+            throw new IllegalArgumentException("Digit out of range");
+
+        append(e);
+        return true;
+    }
+
+    // Додавання перевіреної цифри в кінець списку
+    private void append(int digit) {
+        boolean hashed = hashModCount == modCount;
+        Node tail = isEmpty() ? null : head.prev;
+        if (tail == null || tail.isFull()) {
+            Node node = new Node(bitsPerDigit);
+            linkAfter(tail, node);
+            tail = node;
+        }
+        tail.append(digit);
+
+        // додавання в кінець не змінює початкових індексів вузлів
+        Cursor f = finger;
+        size++;
+        modified(f != null && f.modCount == modCount ? f : null);
+        if (hashed) {
+            hash = 31 * hash + digit;
+            hashModCount = modCount;
         }
-        return false;
+    }
+
+
+    @Override
+    public boolean remove(Object o) {
+        // пошук не змінює вузлів, тож спільні вузли копіюються лише при збігу (у remove(int))
+        int index = indexOf(o);
+        if (index < 0) return false;
+
+        remove(index);
+        return true;
     }
 
 
@@ -390,7 +1419,38 @@ public class NumberListImpl implements NumberList {
     @Override
     public boolean addAll(Collection<? extends Byte> c) {
         if (c == null || c.isEmpty()) return false;
-        for (Byte b : c) add(b);
+
+        byte[] digits = new byte[c.size()];
+        int n = 0;
+        for (Byte b : c) {
+            digits[n++] = b;
+        }
+        return addDigits(digits, 0, n);
+    }
+
+    /**
+     * Appends digits <tt>digits[from..to)</tt> to the end of the list.
+     * All digits are checked before the list is changed.
+     *
+     * @param digits - array of digits
+     * @param from - index of the first digit to append
+     * @param to - index after the last digit to append
+     * @return <tt>true</tt> if the list changed.
+     * @throws IllegalArgumentException if some digit is out of range;
+     * in that case no digits are appended.
+     */
+    @Override
+    public boolean addDigits(byte[] digits, int from, int to) {
+        Objects.checkFromToIndex(from, to, digits.length);
+        if (from == to) return false;
+
+        // цифри перевіряються разом до зміни списку
+        if (DigitKernels.INSTANCE.firstOutside(digits, from, to, 0, base) < to)
+            throw new IllegalArgumentException("Digit out of range");
+
+        for (int i = from; i < to; i++) {
+            append(digits[i]);
+        }
         return true;
     }
 
@@ -400,301 +1460,983 @@ public class NumberListImpl implements NumberList {
         if (index < 0 || index > size)
             throw new IndexOutOfBoundsException();
 
-        if (c == null || c.isEmpty()) return false;
+        if (c == null || c.isEmpty()) return false;
+
+        for (Byte b : c) {
+            add(index++, b);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c == null) throw new NullPointerException();
+
+        int mask = digitMask(c);
+        return mask != 0 && compact((index, digit) -> (mask >>> digit & 1) != 0);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c == null) throw new NullPointerException();
+
+        int mask = ~digitMask(c) & ((1 << base) - 1);
+        return mask != 0 && compact((index, digit) -> (mask >>> digit & 1) != 0);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Byte> filter) {
+        Objects.requireNonNull(filter);
+
+        // предикат перевіряється для всіх цифр до зміни списку
+        long[] removed = new long[(size + Long.SIZE - 1) >>> 6];
+        int expectedModCount = modCount;
+        int[] index = {0};
+        forEachDigit(digit -> {
+            if (filter.test((byte) digit)) removed[index[0] >>> 6] |= 1L << index[0];
+            index[0]++;
+        });
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+
+        return compact((i, digit) -> (removed[i >>> 6] >>> i & 1) != 0);
+    }
+
+    // Маска значень цифр, що містяться в c: біт d встановлений, якщо c.contains(d)
+    private int digitMask(Collection<?> c) {
+        int mask = 0;
+        for (int d = 0; d < base; d++) {
+            if (c.contains((byte) d)) mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    // Ознака видалення цифри digit з індексом index
+    private interface DigitFilter {
+        boolean removes(int index, int digit);
+    }
+
+    /*
+     * Видалення всіх цифр, відібраних filter, за один прохід. Залишені цифри
+     * зсуваються назад на місце видалених, починаючи з першої видаленої;
+     * вузли до неї не змінюються, а вузли запису заповнюються повністю.
+     * Звільнені вузли в кінці кільця вилучаються, modCount змінюється один раз.
+     */
+    private boolean compact(DigitFilter filter) {
+        if (isEmpty()) return false;
+
+        int first = 0;
+        Node curr = head;
+        find:
+        do {
+            for (int i = 0; i < curr.count; i++, first++) {
+                if (filter.removes(first, curr.get(i))) break find;
+            }
+            curr = curr.next;
+        } while (curr != head);
+        if (first == size) return false;
+
+        unshare();
+        Cursor c = cursor(first);
+        Node read = c.node;
+        int r = first - c.start;
+        Node write = read;
+        int w = r;
+        int kept = first;
+        for (int index = first; index < size; index++) {
+            int digit = read.get(r);
+            if (!filter.removes(index, digit)) {
+                if (w == write.capacity()) {
+                    write.count = w;
+                    write = write.next;
+                    w = 0;
+                }
+                write.set(w++, digit);
+                kept++;
+            }
+            if (++r == read.count) {
+                read = read.next;
+                r = 0;
+            }
+        }
+
+        if (kept == 0) {
+            // як у clear(): нове кільце не має спільних вузлів зі знімками
+            head = null;
+            finger = null;
+            shared = false;
+        } else {
+            while (head.prev != write) {
+                unlink(head.prev);
+            }
+            write.count = Math.max(write.count, w);
+            write.truncate(w);
+        }
+        size = kept;
+        modified(null);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        finger = null;
+        shared = false;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Byte get(int index) {
+        return getDigit(index);
+    }
+
+    @Override
+    public byte getDigit(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        Cursor c = cursor(index);
+        return c.node.get(index - c.start);
+    }
+
+    @Override
+    public Byte set(int index, Byte element) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        if (element == null)
+            throw new NullPointerException();
+        if (element < 0 || element >= base)
+            throw new IllegalArgumentException();
+
+        unshare();
+        boolean hashed = hashModCount == modCount;
+        Cursor c = cursor(index);
+        byte old = c.node.get(index - c.start);
+        c.node.set(index - c.start, element);
+        modified(c);
+        if (hashed) {
+            hash += (element - old) * power31(size - 1 - index);
+            hashModCount = modCount;
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int index, Byte element) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+        if (element == null)
+            throw new NullPointerException();
+        if (element < 0 || element >= base)
+            throw new IllegalArgumentException();
+
+        if (index == size) {
+            add(element);
+            return;
+        }
+
+        unshare();
+        Cursor c = cursor(index);
+        Node node = c.node;
+        int offset = index - c.start;
+
+        if (node.isFull()) {
+            if (offset == 0) {
+                // вставка перед повним вузлом - новий вузол замість розділення
+                Node newNode = new Node(bitsPerDigit);
+                linkAfter(node.prev, newNode);
+                if (node == head) head = newNode;
+                node = newNode;
+                c = new Cursor(newNode, c.start, modCount);
+            } else {
+                Node right = split(node);
+                if (offset > node.count) {
+                    offset -= node.count;
+                    node = right;
+                }
+            }
+        }
+        node.insert(offset, element);
+
+        size++;
+        modified(c);
+    }
+
+    @Override
+    public Byte remove(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        unshare();
+        Cursor c = cursor(index);
+        byte val = removeDigit(c.node, index - c.start);
+        // removeDigit уже змінив modCount; позиція лишається коректною, якщо вузол не вилучено
+        if (c.node.count > 0) {
+            c.modCount = modCount;
+            finger = c;
+        }
+        return val;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte)) return -1;
+
+        if (isEmpty()) return -1;
+
+        byte target = (Byte) o;
+        Node curr = head;
+        int start = 0;
+        do {
+            for (int i = 0; i < curr.count; i++) {
+                if (curr.get(i) == target) return start + i;
+            }
+            start += curr.count;
+            curr = curr.next;
+        } while (curr != head);
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte)) return -1;
+
+        if (isEmpty()) return -1;
+
+        // прохід від хвоста назад через prev
+        byte target = (Byte) o;
+        Node curr = head.prev;
+        int end = size;
+        do {
+            int start = end - curr.count;
+            for (int i = curr.count - 1; i >= 0; i--) {
+                if (curr.get(i) == target) return start + i;
+            }
+            end = start;
+            curr = curr.prev;
+        } while (curr != head.prev);
+        return -1;
+    }
+
+        @Override
+    public ListIterator<Byte> listIterator() {
+        return new NumberListListIterator(0);
+    }
+
+
+    @Override
+    public ListIterator<Byte> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new NumberListListIterator(index);
+    }
+
+    /**
+     * Returns a view of the portion of this list between <tt>fromIndex</tt>,
+     * inclusive, and <tt>toIndex</tt>, exclusive. The view is created in
+     * O(1) time and is backed by the list: reads and changes through the
+     * view go directly to the list nodes.<p>
+     *
+     * Any change of the list made not through the view makes the view
+     * invalid: its methods throw <tt>ConcurrentModificationException</tt>.
+     */
+    @Override
+    public List<Byte> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException();
+
+        return new SubList(null, fromIndex, toIndex - fromIndex);
+    }
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        if (index1 < 0 || index1 >= size || index2 < 0 || index2 >= size)
+            return false;
+        if (index1 == index2) return true;
+
+        Byte tmp = get(index1);
+        set(index1, get(index2));
+        set(index2, tmp);
+        return true;
+    }
+
+    @Override
+    public void sortAscending() {
+        countingSort(false);
+    }
+
+    @Override
+    public void sortDescending() {
+        countingSort(true);
+    }
+
+    /*
+     * Сортування підрахунком: гістограма цифр за один прохід, потім
+     * перезапис вузлів на місці серіями однакових цифр. Для великих списків
+     * обидва етапи виконуються паралельно по вузлах, а гістограми окремих
+     * сегментів зводяться в одну.
+     */
+    private void countingSort(boolean descending) {
+        if (size < 2) return;
+
+        unshare();
+        Node[] nodes = nodes();
+        long[] histogram;
+        if (size >= PARALLEL_SORT_THRESHOLD) {
+            histogram = IntStream.range(0, nodes.length).parallel().collect(
+                    () -> new long[base],
+                    (h, i) -> nodes[i].countDigits(h),
+                    (h1, h2) -> {
+                        for (int d = 0; d < base; d++) h1[d] += h2[d];
+                    });
+        } else {
+            histogram = new long[base];
+            for (Node node : nodes) {
+                node.countDigits(histogram);
+            }
+        }
+
+        // кінці серій цифр у порядку сортування
+        int[] digits = new int[base];
+        long[] ends = new long[base];
+        long end = 0;
+        for (int k = 0; k < base; k++) {
+            digits[k] = descending ? base - 1 - k : k;
+            end += histogram[digits[k]];
+            ends[k] = end;
+        }
+
+        int[] starts = new int[nodes.length];
+        for (int i = 1; i < nodes.length; i++) {
+            starts[i] = starts[i - 1] + nodes[i - 1].count;
+        }
+
+        IntStream range = IntStream.range(0, nodes.length);
+        if (size >= PARALLEL_SORT_THRESHOLD) range = range.parallel();
+        range.forEach(i -> {
+            Node node = nodes[i];
+            long from = starts[i];
+            long to = from + node.count;
+            long runStart = 0;
+            for (int k = 0; k < base && runStart < to; k++) {
+                long lo = Math.max(from, runStart);
+                long hi = Math.min(to, ends[k]);
+                if (lo < hi) node.fill((int) (lo - from), (int) (hi - from), digits[k]);
+                runStart = ends[k];
+            }
+        });
+        modCount++;
+    }
+
+    @Override
+    public void shiftLeft() {
+        if (size > 1) {
+            unshare();
+            // перша цифра переноситься в кінець: змінюються лише головний і хвостовий вузли
+            byte first = head.removeAt(0);
+            if (head.count == 0) {
+                // порожній головний вузол стає хвостовим
+                head.append(first);
+                head = head.next;
+            } else {
+                Node tail = head.prev;
+                if (tail.isFull()) {
+                    Node node = new Node(bitsPerDigit);
+                    linkAfter(tail, node);
+                    tail = node;
+                }
+                tail.append(first);
+            }
+            modCount++;
+        }
+    }
+
+    @Override
+    public void shiftRight() {
+        if (size > 1) {
+            unshare();
+            Node tail = head.prev;
+            byte last = tail.removeAt(tail.count - 1);
+            if (tail.count == 0) {
+                head = tail;
+            } else if (head.isFull()) {
+                Node node = new Node(bitsPerDigit);
+                linkAfter(tail, node);
+                head = node;
+            }
+            head.insert(0, last);
+            modCount++;
+        }
+    }
+
+    // Кількість бітів на цифру: 1 для двійкової системи, 2 - для основ до 4, 4 - до 16
+    static int bitsPerDigit(int base) {
+        return base <= 2 ? 1 : base <= 4 ? 2 : 4;
+    }
+
+    /*
+     * Пошук вузла, що містить цифру з індексом index (0 <= index < size).
+     * Обхід починається з найближчої точки: голови, хвоста (назад через prev)
+     * або останньої знайденої позиції, якщо список відтоді не змінювався.
+     */
+    private Cursor cursor(int index) {
+        Cursor f = finger;
+        if (f != null && f.modCount != modCount) f = null;
+        if (f != null && index >= f.start && index < f.start + f.node.count) return f;
+
+        Node node;
+        int start;
+        int fromTail = size - 1 - index;
+        if (f != null && Math.abs(index - f.start) < Math.min(index, fromTail)) {
+            node = f.node;
+            start = f.start;
+        } else if (index <= fromTail) {
+            node = head;
+            start = 0;
+        } else {
+            node = head.prev;
+            start = size - node.count;
+        }
+
+        while (index < start) {
+            node = node.prev;
+            start -= node.count;
+        }
+        while (index >= start + node.count) {
+            start += node.count;
+            node = node.next;
+        }
+        finger = new Cursor(node, start, modCount);
+        return finger;
+    }
+
+    /*
+     * Обхід цифр від from для читачів без виключного доступу
+     * (ConcurrentNumberList під оптимістичним читанням StampedLock). Поля
+     * вузла - слова, кількість цифр, сусідні вузли - спершу копіюються
+     * в локальні змінні, і лише після того, як valid підтвердить, що список
+     * не змінювався, копія передається visitor, а сусідній вузол стає
+     * наступним кроком обходу. finger лише читається.
+     *
+     * Повертає індекс цифри, на якій visitor зупинив обхід, -1, якщо цифри
+     * пройдено до кінця списку, або READ_CHANGED, якщо список змінився.
+     */
+    int readDigits(int from, ReadPosition position, BooleanSupplier valid, DigitVisitor visitor) {
+        int n = size;
+        int mc = modCount;
+        Node first = head;
+        Node last = first == null ? null : first.prev;
+        int lastCount = last == null ? 0 : last.count;
+        Cursor f = finger;
+        Node fNode = f == null ? null : f.node;
+        int fStart = f == null ? 0 : f.start;
+        boolean fValid = f != null && f.modCount == mc;
+        if (!valid.getAsBoolean()) return READ_CHANGED;
+
+        visitor.start(n);
+        if (from < 0 || from >= n) return -1;
+
+        // найближча відома позиція: голова, хвіст, finger або позиція попереднього обходу
+        Node node = first;
+        int start = 0;
+        if (n - 1 - from < from) {
+            node = last;
+            start = n - lastCount;
+        }
+        if (fValid && Math.abs(from - fStart) < Math.abs(from - start)) {
+            node = fNode;
+            start = fStart;
+        }
+        Cursor p = position == null ? null : position.cursor;
+        if (p != null && p.modCount == mc && Math.abs(from - p.start) < Math.abs(from - start)) {
+            node = p.node;
+            start = p.start;
+        }
+
+        int count = node.count;
+        Node prev = node.prev;
+        Node next = node.next;
+        if (!valid.getAsBoolean()) return READ_CHANGED;
+        while (from < start) {
+            node = prev;
+            count = node.count;
+            prev = node.prev;
+            next = node.next;
+            if (!valid.getAsBoolean()) return READ_CHANGED;
+            start -= count;
+        }
+        while (from >= start + count) {
+            start += count;
+            node = next;
+            count = node.count;
+            prev = node.prev;
+            next = node.next;
+            if (!valid.getAsBoolean()) return READ_CHANGED;
+        }
+
+        Node copy = new Node(bitsPerDigit);
+        for (int i = from - start; ; i = 0) {
+            System.arraycopy(node.words, 0, copy.words, 0, CHUNK_WORDS);
+            copy.count = node.count;
+            next = node.next;
+            if (!valid.getAsBoolean()) return READ_CHANGED;
+
+            for (; i < copy.count; i++) {
+                if (!visitor.visit(start + i, copy.get(i))) {
+                    if (position != null) position.cursor = new Cursor(node, start, mc);
+                    return start + i;
+                }
+            }
+            start += copy.count;
+            if (start >= n) return -1;
+            node = next;
+        }
+    }
+
+    // Фіксація зміни списку; keep - позиція, що лишилась коректною після зміни
+    private void modified(Cursor keep) {
+        modCount++;
+        if (keep != null) {
+            keep.modCount = modCount;
+            finger = keep;
+        }
+    }
+
+    /*
+     * Двійкове значення числа у вигляді 64-бітних слів, молодше слово першим
+     * (лише для двійкової системи). Слова вузлів переносяться цілком:
+     * Long.reverse перетворює порядок цифр на порядок бітів значення.
+     */
+    private long[] toWords() {
+        long[] value = new long[(size + Long.SIZE - 1) >>> 6];
+        if (isEmpty()) return value;
+
+        Node curr = head;
+        int start = 0;
+        do {
+            int used = (curr.count + Long.SIZE - 1) >>> 6;
+            for (int w = 0; w < used; w++) {
+                long bits = Long.reverse(curr.words[w]);
+                // позиція молодшого біта bits у значенні
+                int shift = size - start - (w + 1) * Long.SIZE;
+                if (shift < 0) {
+                    value[0] |= bits >>> -shift;
+                } else {
+                    value[shift >>> 6] |= bits << shift;
+                    if ((shift & 63) != 0 && (shift >>> 6) + 1 < value.length) {
+                        value[(shift >>> 6) + 1] |= bits >>> (Long.SIZE - (shift & 63));
+                    }
+                }
+            }
+            start += curr.count;
+            curr = curr.next;
+        } while (curr != head);
+        return value;
+    }
+
+    /*
+     * Заповнення порожнього двійкового списку бітами value[0..bitLength),
+     * старший біт першим. Вузли заповнюються цілими словами; нульове
+     * значення дає одну цифру 0.
+     */
+    private void appendWords(long[] value, int bitLength) {
+        if (bitLength == 0) {
+            append(0);
+            return;
+        }
 
-        for (Byte b : c) {
-            add(index++, b);
+        int pos = bitLength;
+        while (pos > 0) {
+            Node node = new Node(bitsPerDigit);
+            linkAfter(isEmpty() ? null : head.prev, node);
+            int n = Math.min(pos, node.capacity());
+            for (int w = 0; w * Long.SIZE < n; w++) {
+                long bits = Long.reverse(window(value, pos - w * Long.SIZE));
+                int valid = n - w * Long.SIZE;
+                node.words[w] = valid >= Long.SIZE ? bits : bits & ((1L << valid) - 1);
+            }
+            node.count = n;
+            size += n;
+            pos -= n;
         }
-        return true;
+        modCount++;
     }
 
-    @Override
-    public boolean removeAll(Collection<?> c) {
-        if (c == null) throw new NullPointerException();
-        boolean modified = false;
-        Iterator<Byte> it = iterator();
-        while (it.hasNext()) {
-            if (c.contains(it.next())) {
-                it.remove(); // Видаляє саме поточний вузол
-                modified = true;
-            }
+    // 64 біти значення, що закінчуються бітом hi - 1 (він стає старшим бітом результату)
+    private static long window(long[] value, int hi) {
+        int lo = hi - Long.SIZE;
+        if (lo < 0) return value[0] << -lo;
+
+        long bits = value[lo >>> 6] >>> lo;
+        if ((lo & 63) != 0 && (lo >>> 6) + 1 < value.length) {
+            bits |= value[(lo >>> 6) + 1] << (Long.SIZE - (lo & 63));
         }
-        return modified;
+        return bits;
     }
 
-    @Override
-    public boolean retainAll(Collection<?> c) {
-        if (c == null) throw new NullPointerException();
-        boolean modified = false;
-        Iterator<Byte> it = iterator();
-        while (it.hasNext()) {
-            if (!c.contains(it.next())) {
-                it.remove();
-                modified = true;
-            }
+    // Кількість значущих бітів у значенні, записаному словами
+    private static int bitLength(long[] value) {
+        for (int i = value.length - 1; i >= 0; i--) {
+            if (value[i] != 0) return (i + 1) * Long.SIZE - Long.numberOfLeadingZeros(value[i]);
         }
-        return modified;
+        return 0;
     }
 
-    @Override
-    public void clear() {
-        head = null;
-        size = 0;
-        modCount++;
+    // Невід'ємне значення BigInteger словами, молодше слово першим
+    private static long[] wordsOf(BigInteger value) {
+        byte[] magnitude = value.toByteArray();
+        long[] words = new long[(value.bitLength() + Long.SIZE - 1) >>> 6];
+        for (int i = 0; i < magnitude.length && (i >>> 3) < words.length; i++) {
+            words[i >>> 3] |= (magnitude[magnitude.length - 1 - i] & 0xFFL) << (Byte.SIZE * (i & 7));
+        }
+        return words;
     }
 
-    @Override
-    public Byte get(int index) {
-        if (index < 0 || index >= size)
-            throw new IndexOutOfBoundsException();
+    // Кількість нулів перед першою ненульовою цифрою; пошук іде пословно
+    private int leadingZeros() {
+        if (isEmpty()) return 0;
 
         Node curr = head;
-        for (int i = 0; i < index; i++) {
+        int start = 0;
+        do {
+            for (int w = 0; w < CHUNK_WORDS; w++) {
+                if (curr.words[w] != 0) {
+                    return start + (w * Long.SIZE + Long.numberOfTrailingZeros(curr.words[w])) / bitsPerDigit;
+                }
+            }
+            start += curr.count;
             curr = curr.next;
-        }
-        return curr.data;
+        } while (curr != head);
+        return size;
     }
 
-    @Override
-    public Byte set(int index, Byte element) {
-        if (index < 0 || index >= size)
-            throw new IndexOutOfBoundsException();
-        if (element == null)
-            throw new NullPointerException();
-        if (element < 0 || element >= base)
-            throw new IllegalArgumentException();
+    // Видалення старших нулів; від нульового числа лишається одна цифра 0
+    private void stripLeadingZeros() {
+        int zeros = Math.min(leadingZeros(), size - 1);
+        if (zeros <= 0) return;
 
-        Node curr = head;
-        for (int i = 0; i < index; i++) {
-            curr = curr.next;
+        unshare();
+        size -= zeros;
+        while (zeros >= head.count) {
+            zeros -= head.count;
+            unlink(head);
         }
-
-        byte old = curr.data;
-        curr.data = element;
+        if (zeros > 0) head.dropFirst(zeros);
         modCount++;
-        return old;
     }
 
-    @Override
-    public void add(int index, Byte element) {
-        if (index < 0 || index > size)
-            throw new IndexOutOfBoundsException();
-        if (element == null)
-            throw new NullPointerException();
-        if (element < 0 || element >= base)
-            throw new IllegalArgumentException();
-
-        if (index == size) {
-            add(element);
-            return;
+    /*
+     * Список з n нульових цифр у системі base. Усі вузли, крім голови,
+     * заповнені повністю, тож цифри можна записувати з хвоста.
+     */
+    private static NumberListImpl zeros(int base, int n) {
+        NumberListImpl result = new NumberListImpl(base);
+        int capacity = CHUNK_BITS / result.bitsPerDigit;
+        int count = n - (n - 1) / capacity * capacity;
+        for (int left = n; left > 0; left -= count, count = capacity) {
+            Node node = new Node(result.bitsPerDigit);
+            node.count = count;
+            result.linkAfter(result.isEmpty() ? null : result.head.prev, node);
+            result.size += count;
         }
+        return result;
+    }
 
-        Node newNode = new Node(element);
+    // Основа лімбів із k цифр
+    private int limbRadix(int k) {
+        int radix = 1;
+        for (int i = 0; i < k; i++) {
+            radix *= base;
+        }
+        return radix;
+    }
 
-        if (index == 0) {
-            if (isEmpty()) {
-                head = newNode;
-                newNode.next = newNode;
-                newNode.prev = newNode;
-            } else {
-                Node tail = head.prev;
-                newNode.next = head;
-                newNode.prev = tail;
-                head.prev = newNode;
-                tail.next = newNode;
-                head = newNode;
-            }
-        } else {
-            Node curr = head;
-            for (int i = 0; i < index; i++) {
-                curr = curr.next;
+    // Значущі цифри числа лімбами по k цифр, молодший лімб першим
+    private int[] toLimbs(int k) {
+        int n = size - leadingZeros();
+        int[] limbs = new int[(n + k - 1) / k];
+        TailWalker digits = new TailWalker(this, n);
+        for (int i = 0; i < limbs.length; i++) {
+            int limb = 0;
+            for (int j = 0, power = 1; j < k; j++, power *= base) {
+                limb += digits.next() * power;
             }
-            Node prev = curr.prev;
-            prev.next = newNode;
-            newNode.prev = prev;
-            newNode.next = curr;
-            curr.prev = newNode;
+            limbs[i] = limb;
         }
-
-        size++;
-        modCount++;
+        return limbs;
     }
 
-    @Override
-    public Byte remove(int index) {
-        if (index < 0 || index >= size)
-            throw new IndexOutOfBoundsException();
-
-        Node curr = head;
-        for (int i = 0; i < index; i++) {
-            curr = curr.next;
+    // Список у системі base з лімбів по k цифр, без старших нулів
+    private static NumberListImpl fromLimbs(int[] limbs, int base, int k) {
+        int n = LimbArithmetic.length(limbs, limbs.length);
+        NumberListImpl result = zeros(base, Math.max(n * k, 1));
+        TailWalker digits = new TailWalker(result, result.size);
+        for (int i = 0; i < n; i++) {
+            int limb = limbs[i];
+            for (int j = 0; j < k; j++) {
+                digits.put(limb % base);
+                limb /= base;
+            }
         }
+        result.stripLeadingZeros();
+        return result;
+    }
 
-        byte val = curr.data;
-
-        if (size == 1) {
-            head = null;
+    // Список у системі числення цього списку з двійкового значення, записаного словами
+    private NumberListImpl fromWords(long[] words) {
+        NumberListImpl result = new NumberListImpl(base);
+        if (base == 2) {
+            result.appendWords(words, bitLength(words));
         } else {
-            curr.prev.next = curr.next;
-            curr.next.prev = curr.prev;
-            if (curr == head) head = curr.next;
+            result.appendValue(bigIntegerOf(words));
         }
+        return result;
+    }
 
-        size--;
-        modCount++;
-        return val;
+    // Операнд побітової операції; його система числення не важлива
+    private NumberListImpl bitwiseOperand(NumberList arg) {
+        if (arg == null) throw new IllegalArgumentException("Argument cannot be null");
+
+        return valueOf(arg, base);
     }
 
-    @Override
-    public int indexOf(Object o) {
-        if (!(o instanceof Byte)) return -1;
+    // Операнд арифметичної операції в системі числення цього списку
+    private NumberListImpl operand(NumberList arg) {
+        if (arg == null) throw new IllegalArgumentException("Argument cannot be null");
 
-        Node curr = head;
-        for (int i = 0; i < size; i++) {
-            if (curr.data == (Byte) o) return i;
-            curr = curr.next;
+        NumberListImpl other = valueOf(arg, base);
+        return other.base == base ? other : other.changeScale(base);
+    }
+
+    /*
+     * Операнд у вигляді NumberListImpl. Знімки та потокобезпечні списки
+     * перетворюються у власній системі числення; інші реалізації NumberList
+     * не знають своєї системи і копіюються як цифри в системі base.
+     */
+    private static NumberListImpl valueOf(NumberList list, int base) {
+        if (list instanceof NumberListImpl) return (NumberListImpl) list;
+        if (list instanceof PersistentNumberList) return ((PersistentNumberList) list).toNumberListImpl();
+        if (list instanceof ConcurrentNumberList) return ((ConcurrentNumberList) list).copy();
+
+        NumberListImpl copy = new NumberListImpl(base);
+        for (Byte digit : list) {
+            copy.add(digit);
         }
-        return -1;
+        return copy;
     }
 
-    @Override
-    public int lastIndexOf(Object o) {
-        if (!(o instanceof Byte)) return -1;
+    // Копія списку, що переносить слова вузлів цілком
+    NumberListImpl copy() {
+        return copy(() -> true);
+    }
 
-        int last = -1;
+    /*
+     * Копія списку для читачів без виключного доступу, як у readDigits:
+     * слова вузла та посилання на наступний копіюються в новий вузол, і лише
+     * після перевірки valid вузол додається до копії. Повертає null, якщо
+     * список тим часом змінився.
+     */
+    NumberListImpl copy(BooleanSupplier valid) {
+        NumberListImpl result = new NumberListImpl(base);
+        int n = size;
         Node curr = head;
-        for (int i = 0; i < size; i++) {
-            if (curr.data == (Byte) o) last = i;
-            curr = curr.next;
+        if (!valid.getAsBoolean()) return null;
+
+        while (result.size < n) {
+            Node node = new Node(bitsPerDigit);
+            System.arraycopy(curr.words, 0, node.words, 0, CHUNK_WORDS);
+            node.count = curr.count;
+            Node next = curr.next;
+            if (!valid.getAsBoolean()) return null;
+
+            result.linkAfter(result.isEmpty() ? null : result.head.prev, node);
+            result.size += node.count;
+            curr = next;
         }
-        return last;
+        return result;
     }
 
-        @Override
-    public ListIterator<Byte> listIterator() {
-        return new NumberListListIterator(0);
+    // Система числення списку
+    int base() {
+        return base;
     }
 
-
-    @Override
-    public ListIterator<Byte> listIterator(int index) {
-        if (index < 0 || index > size) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    // Кешований індекс вузлів, що перебудовується після кожної зміни списку
+    private NodeIndex indexNodes() {
+        NodeIndex index = nodeIndex;
+        if (index == null || index.modCount != modCount) {
+            Node[] nodes = isEmpty() ? new Node[0] : nodes();
+            int[] starts = new int[nodes.length + 1];
+            for (int i = 0; i < nodes.length; i++) {
+                starts[i + 1] = starts[i] + nodes[i].count;
+            }
+            index = new NodeIndex(nodes, starts, modCount);
+            nodeIndex = index;
         }
-        return new NumberListListIterator(index);
+        return index;
     }
 
-    @Override
-    public List<Byte> subList(int fromIndex, int toIndex) {
-        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
-            throw new IndexOutOfBoundsException();
+    // Вузли кільця по порядку, починаючи з голови
+    private Node[] nodes() {
+        int n = 0;
+        Node curr = head;
+        do {
+            n++;
+            curr = curr.next;
+        } while (curr != head);
 
-        NumberListImpl res = new NumberListImpl();
-        for (int i = fromIndex; i < toIndex; i++) {
-            res.add(get(i));
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = curr;
+            curr = curr.next;
         }
-        return res;
+        return nodes;
     }
 
-    @Override
-    public boolean swap(int index1, int index2) {
-        if (index1 < 0 || index1 >= size || index2 < 0 || index2 >= size)
-            return false;
-        if (index1 == index2) return true;
+    /*
+     * Заміна вузлів кільця копіями перед зміною цифр на місці, якщо вузли
+     * спільні зі знімком. Додавання в кінець пише лише за межами цифр знімка
+     * і копіювання не потребує.
+     */
+    private void unshare() {
+        if (!shared) return;
 
-        Byte tmp = get(index1);
-        set(index1, get(index2));
-        set(index2, tmp);
-        return true;
+        head = copy().head;
+        finger = null;
+        shared = false;
     }
 
-    @Override
-    public void sortAscending() {
-        for (int i = 0; i < size - 1; i++) {
-            for (int j = 0; j < size - i - 1; j++) {
-                if (get(j) > get(j + 1)) swap(j, j + 1);
-            }
+    // Вставка вузла node після вузла prev (або як єдиного вузла, якщо prev == null)
+    private void linkAfter(Node prev, Node node) {
+        if (prev == null) {
+            head = node;
+            node.next = node;
+            node.prev = node;
+        } else {
+            node.prev = prev;
+            node.next = prev.next;
+            prev.next.prev = node;
+            prev.next = node;
         }
     }
 
-    @Override
-    public void sortDescending() {
-        for (int i = 0; i < size - 1; i++) {
-            for (int j = 0; j < size - i - 1; j++) {
-                if (get(j) < get(j + 1)) swap(j, j + 1);
-            }
+    private void unlink(Node node) {
+        if (node.next == node) {
+            head = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (node == head) head = node.next;
         }
     }
 
-    @Override
-    public void shiftLeft() {
-        if (size > 1) {
-            head = head.next;
-            modCount++;
+    // Розділення повного вузла навпіл; повертає новий правий вузол
+    private Node split(Node node) {
+        Node right = new Node(bitsPerDigit);
+        int half = node.count / 2;
+        for (int i = half; i < node.count; i++) {
+            right.append(node.get(i));
         }
+        node.truncate(half);
+        linkAfter(node, right);
+        return right;
     }
 
-    @Override
-    public void shiftRight() {
-        if (size > 1) {
-            head = head.prev;
-            modCount++;
+    /*
+     * Видалення цифри зі зміщенням offset у вузлі node.
+     * Порожній вузол вилучається з кільця, а малозаповнений поглинає наступний,
+     * тож цифри, що йшли після видаленої, лишаються у node або в node.next.
+     */
+    private byte removeDigit(Node node, int offset) {
+        byte old = node.removeAt(offset);
+        if (node.count == 0) {
+            unlink(node);
+        } else {
+            Node next = node.next;
+            if (next != head && node.count + next.count <= node.capacity() / 2) {
+                for (int i = 0; i < next.count; i++) {
+                    node.append(next.get(i));
+                }
+                unlink(next);
+            }
         }
+        size--;
+        modCount++;
+        return old;
     }
 
     // Ітератор для проходу по списку
     private class NumberListIterator implements Iterator<Byte> {
         private Node nextNode = head;
-        private Node lastReturned = null;
+        private int offset = 0;
         private int index = 0;
+        private int lastReturned = -1;
         private int expectedModCount = modCount;
 
         public boolean hasNext() { return index < size; }
 
         public Byte next() {
+            return nextDigit();
+        }
+
+        byte nextDigit() {
             if (modCount != expectedModCount) throw new ConcurrentModificationException();
             if (!hasNext()) throw new NoSuchElementException();
-            lastReturned = nextNode;
-            nextNode = nextNode.next;
-            index++;
-            return lastReturned.data;
+            byte val = nextNode.get(offset);
+            lastReturned = index++;
+            if (++offset == nextNode.count) {
+                nextNode = nextNode.next;
+                offset = 0;
+            }
+            return val;
         }
 
         public void remove() {
             if (modCount != expectedModCount) throw new ConcurrentModificationException();
-            if (lastReturned == null) throw new IllegalStateException();
+            if (lastReturned < 0) throw new IllegalStateException();
+
+            if (shared) {
+                // ітератор переходить на копію кільця
+                unshare();
+                Cursor c = index < size ? cursor(index) : null;
+                nextNode = c == null ? head : c.node;
+                offset = c == null ? 0 : index - c.start;
+            }
 
-            // Логіка видалення вузла lastReturned
-            if (size == 1) {
-                head = null;
+            // Видалення цифри, що передує поточній позиції ітератора
+            Node node = offset == 0 ? nextNode.prev : nextNode;
+            int pos = offset == 0 ? node.count - 1 : offset - 1;
+            removeDigit(node, pos);
+
+            if (node.count == 0) {
+                nextNode = node.next;
+                offset = 0;
+            } else if (pos < node.count) {
+                nextNode = node;
+                offset = pos;
             } else {
-                lastReturned.prev.next = lastReturned.next;
-                lastReturned.next.prev = lastReturned.prev;
-                if (lastReturned == head) head = lastReturned.next;
-            }
-            
-            if (lastReturned != nextNode) index--; 
-            
-            lastReturned = null;
-            size--;
-            modCount++;
+                nextNode = node.next;
+                offset = 0;
+            }
+
+            index = lastReturned;
+            lastReturned = -1;
             expectedModCount = modCount;
         }
     }
 
     // ListIterator з можливістю руху в обидва боки
     private class NumberListListIterator implements ListIterator<Byte> {
-        private Node current;
-        private Node lastReturned = null;
+        private Node current; // вузол цифри з індексом position (head, якщо position == size)
+        private int offset;
+        private int lastReturned = -1;
         private int position;
         private int expectedModCount = modCount;
 
         NumberListListIterator(int index) {
-            current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.next;
-            }
             position = index;
+            seek();
         }
 
         @Override
@@ -709,10 +2451,13 @@ public class NumberListImpl implements NumberList {
                 throw new NoSuchElementException();
             }
 
-            lastReturned = current;
-            current = current.next;
-            position++;
-            return lastReturned.data;
+            byte val = current.get(offset);
+            lastReturned = position++;
+            if (++offset == current.count) {
+                current = current.next;
+                offset = 0;
+            }
+            return val;
         }
 
         @Override
@@ -725,10 +2470,12 @@ public class NumberListImpl implements NumberList {
             checkForComodification();
             if (!hasPrevious()) throw new NoSuchElementException();
 
-            current = current.prev; 
-            position--;
-            lastReturned = current;
-            return lastReturned.data;
+            if (--offset < 0) {
+                current = current.prev;
+                offset = current.count - 1;
+            }
+            lastReturned = --position;
+            return current.get(offset);
         }
 
         @Override
@@ -744,24 +2491,28 @@ public class NumberListImpl implements NumberList {
         @Override
         public void remove() {
             checkForComodification();
-            if (lastReturned == null) {
+            if (lastReturned < 0) {
                 throw new IllegalStateException();
             }
 
-            NumberListImpl.this.remove(position);
-            lastReturned = null;
+            NumberListImpl.this.remove(lastReturned);
+            if (lastReturned < position) position--;
+            lastReturned = -1;
             expectedModCount = modCount;
+            seek();
         }
 
         @Override
         public void set(Byte e) {
             checkForComodification();
-            if (lastReturned == null) {
+            if (lastReturned < 0) {
                 throw new IllegalStateException();
             }
 
-            NumberListImpl.this.set(position - 1, e);
+            boolean reseek = shared;
+            NumberListImpl.this.set(lastReturned, e);
             expectedModCount = modCount;
+            if (reseek) seek(); // вузли замінено копіями
         }
 
         @Override
@@ -769,16 +2520,20 @@ public class NumberListImpl implements NumberList {
             checkForComodification();
             NumberListImpl.this.add(position, e);
             position++;
-            lastReturned = null;
+            lastReturned = -1;
             expectedModCount = modCount;
+            seek();
         }
 
-        private Node getNodeAt(int index) {
-            Node node = head;
-            for (int i = 0; i < index; i++) {
-                node = node.next;
+        private void seek() {
+            if (position < size) {
+                Cursor c = cursor(position);
+                current = c.node;
+                offset = position - c.start;
+            } else {
+                current = head;
+                offset = 0;
             }
-            return node;
         }
 
         private void checkForComodification() {
@@ -787,4 +2542,213 @@ public class NumberListImpl implements NumberList {
             }
         }
     }
-}
\ No newline at end of file
+
+    /*
+     * Обхід цифр вузлів [node, fence) індексу, починаючи з offset у першому
+     * вузлі. Поділ відбувається по межах вузлів. Індекс береться під час
+     * першого використання, тож зміни до початку обходу враховуються.
+     */
+    private final class DigitSpliterator implements Spliterator.OfInt {
+        private NodeIndex index;
+        private int node;
+        private int offset;
+        private int fence;
+        private int expectedModCount;
+
+        DigitSpliterator() {
+        }
+
+        private DigitSpliterator(NodeIndex index, int node, int offset, int fence) {
+            this.index = index;
+            this.node = node;
+            this.offset = offset;
+            this.fence = fence;
+            this.expectedModCount = index.modCount;
+        }
+
+        private int fence() {
+            if (index == null) {
+                index = indexNodes();
+                fence = index.nodes.length;
+                expectedModCount = index.modCount;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            int hi = fence();
+            int mid = (node + hi) >>> 1;
+            if (mid <= node) return null;
+
+            // префікс віддається новому обходу, щоб зберегти порядок
+            DigitSpliterator prefix = new DigitSpliterator(index, node, offset, mid);
+            node = mid;
+            offset = 0;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            Objects.requireNonNull(action);
+            if (node >= fence()) return false;
+
+            Node curr = index.nodes[node];
+            int digit = curr.get(offset);
+            if (++offset == curr.count) {
+                node++;
+                offset = 0;
+            }
+            action.accept(digit);
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            Objects.requireNonNull(action);
+            int hi = fence();
+            for (; node < hi; node++) {
+                Node curr = index.nodes[node];
+                for (int i = offset; i < curr.count; i++) {
+                    action.accept(curr.get(i));
+                }
+                offset = 0;
+            }
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            int hi = fence();
+            return index.starts[hi] - index.starts[node] - offset;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    // Spliterator<Byte> поверх DigitSpliterator; Byte.valueOf бере об'єкти з кешу
+    private static final class ByteSpliterator implements Spliterator<Byte> {
+        private final Spliterator.OfInt digits;
+
+        ByteSpliterator(Spliterator.OfInt digits) {
+            this.digits = digits;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Byte> action) {
+            Objects.requireNonNull(action);
+            return digits.tryAdvance((IntConsumer) d -> action.accept((byte) d));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Byte> action) {
+            Objects.requireNonNull(action);
+            digits.forEachRemaining((IntConsumer) d -> action.accept((byte) d));
+        }
+
+        @Override
+        public Spliterator<Byte> trySplit() {
+            Spliterator.OfInt prefix = digits.trySplit();
+            return prefix == null ? null : new ByteSpliterator(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return digits.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return digits.characteristics();
+        }
+    }
+
+    /*
+     * Представлення діапазону [offset, offset + size) списку. Позиційний
+     * доступ іде через cursor з кешем finger, тож послідовний обхід не шукає
+     * вузол заново. Структурні зміни через вкладене представлення оновлюють
+     * розміри всіх зовнішніх.
+     */
+    private final class SubList extends AbstractList<Byte> {
+        private final SubList parent;
+        private final int offset;
+        private int size;
+        private int expectedModCount = NumberListImpl.this.modCount;
+
+        SubList(SubList parent, int offset, int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public Byte get(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException();
+            return getDigit(offset + index);
+        }
+
+        @Override
+        public Byte set(int index, Byte element) {
+            checkForComodification();
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException();
+            Byte old = NumberListImpl.this.set(offset + index, element);
+            updated(0);
+            return old;
+        }
+
+        @Override
+        public void add(int index, Byte element) {
+            checkForComodification();
+            if (index < 0 || index > size)
+                throw new IndexOutOfBoundsException();
+            NumberListImpl.this.add(offset + index, element);
+            updated(1);
+        }
+
+        @Override
+        public Byte remove(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException();
+            Byte old = NumberListImpl.this.remove(offset + index);
+            updated(-1);
+            return old;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public List<Byte> subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+                throw new IndexOutOfBoundsException();
+            return new SubList(this, offset + fromIndex, toIndex - fromIndex);
+        }
+
+        // Зміна через представлення: нові розмір і modCount для нього та всіх зовнішніх
+        private void updated(int delta) {
+            for (SubList s = this; s != null; s = s.parent) {
+                s.size += delta;
+                s.expectedModCount = NumberListImpl.this.modCount;
+                if (delta != 0) s.modCount++;
+            }
+        }
+
+        private void checkForComodification() {
+            if (NumberListImpl.this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
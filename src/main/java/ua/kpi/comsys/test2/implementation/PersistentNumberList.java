@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Незмінний персистентний <tt>NumberList</tt>.<p>
+ *
+ * Цифри зберігаються у збалансованому (AVL) дереві-мотузці, листки якого
+ * упаковані так само, як вузли {@link NumberListImpl}. Методи
+ * <tt>plus</tt>, <tt>with</tt> та <tt>minus</tt> повертають нову версію
+ * списку: копіюються лише листок зі зміненою цифрою та шлях до нього,
+ * решта дерева спільна зі старою версією. Методи <tt>List</tt> та
+ * <tt>NumberList</tt>, що змінюють список, кидають
+ * <tt>UnsupportedOperationException</tt>.<p>
+ *
+ * Знімок {@link NumberListImpl#snapshot()} спершу лише посилається на
+ * вузли кільця, а дерево будується при першому зверненні до цифр, без
+ * копіювання слів.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+public final class PersistentNumberList extends AbstractList<Byte> implements NumberList {
+
+    private static final int DEFAULT_BASE = 2; // двійкова система
+    private static final int LEAF_WORDS = 8; // як у вузлах NumberListImpl
+
+    private final int base;
+    private final int bits;
+    private final int size;
+    private volatile Rope root;
+    private Consumer<ObjIntConsumer<long[]>> chunks; // вузли знімка до побудови дерева
+    private int hash; // 0 - ще не обчислений
+
+    // Піддерево мотузки: кількість цифр і висота
+    private abstract static class Rope {
+        final int size;
+        final int height;
+
+        Rope(int size, int height) {
+            this.size = size;
+            this.height = height;
+        }
+    }
+
+    private static final class Branch extends Rope {
+        final Rope left;
+        final Rope right;
+
+        Branch(Rope left, Rope right) {
+            super(left.size + right.size, Math.max(left.height, right.height) + 1);
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /*
+     * Листок з цифрами, упакованими по bits біт. Біти за межами size не
+     * використовуються: листок знімка ділить масив з хвостовим вузлом кільця,
+     * у який далі можуть дописуватися цифри.
+     */
+    private static final class Leaf extends Rope {
+        final long[] words;
+        final int bits;
+
+        Leaf(long[] words, int size, int bits) {
+            super(size, 1);
+            this.words = words;
+            this.bits = bits;
+        }
+
+        boolean isFull() {
+            return size == LEAF_WORDS * Long.SIZE / bits;
+        }
+
+        byte get(int offset) {
+            return digit(words, bits, offset);
+        }
+
+        Leaf with(int offset, int digit) {
+            long[] w = Arrays.copyOf(words, LEAF_WORDS);
+            put(w, bits, offset, digit);
+            return new Leaf(w, size, bits);
+        }
+
+        Leaf inserted(int offset, int digit) {
+            long[] w = Arrays.copyOf(words, LEAF_WORDS);
+            for (int i = size; i > offset; i--) {
+                put(w, bits, i, digit(words, bits, i - 1));
+            }
+            put(w, bits, offset, digit);
+            return new Leaf(w, size + 1, bits);
+        }
+
+        Leaf removed(int offset) {
+            long[] w = Arrays.copyOf(words, LEAF_WORDS);
+            for (int i = offset; i < size - 1; i++) {
+                put(w, bits, i, digit(words, bits, i + 1));
+            }
+            return new Leaf(w, size - 1, bits);
+        }
+
+        // Цифри [from, to) в окремому листку
+        Leaf slice(int from, int to) {
+            long[] w = new long[LEAF_WORDS];
+            for (int i = from; i < to; i++) {
+                put(w, bits, i - from, digit(words, bits, i));
+            }
+            return new Leaf(w, to - from, bits);
+        }
+    }
+
+    /**
+     * Default constructor. Returns empty <tt>PersistentNumberList</tt>
+     * in binary scale of notation.
+     */
+    public PersistentNumberList() {
+        this(DEFAULT_BASE, null);
+    }
+
+    private PersistentNumberList(int base, Rope root) {
+        this.base = base;
+        this.bits = NumberListImpl.bitsPerDigit(base);
+        this.size = root == null ? 0 : root.size;
+        this.root = root;
+    }
+
+    /*
+     * Знімок з size цифр, що будується з вузлів на першу вимогу.
+     * chunks передає слова та кількість цифр кожного вузла по порядку;
+     * ці цифри не повинні змінюватися, поки існує знімок.
+     */
+    PersistentNumberList(int base, int size, Consumer<ObjIntConsumer<long[]>> chunks) {
+        this.base = base;
+        this.bits = NumberListImpl.bitsPerDigit(base);
+        this.size = size;
+        this.chunks = chunks;
+    }
+
+    private Rope root() {
+        Rope r = root;
+        if (r == null && size > 0) {
+            synchronized (this) {
+                r = root;
+                if (r == null) {
+                    List<Leaf> leaves = new ArrayList<>();
+                    chunks.accept((words, count) -> leaves.add(new Leaf(words, count, bits)));
+                    r = build(leaves, 0, leaves.size());
+                    root = r;
+                    chunks = null;
+                }
+            }
+        }
+        return r;
+    }
+
+    // Ідеально збалансоване дерево з листків [from, to)
+    private static Rope build(List<Leaf> leaves, int from, int to) {
+        if (to - from == 1) return leaves.get(from);
+        int mid = (from + to) >>> 1;
+        return new Branch(build(leaves, from, mid), build(leaves, mid, to));
+    }
+
+    /**
+     * Returns new version of the list with <tt>digit</tt> appended
+     * to the end. This list is not changed.
+     *
+     * @param digit - digit to append.
+     * @return new version of the list.
+     */
+    public PersistentNumberList plus(Byte digit) {
+        return plus(size, digit);
+    }
+
+    /**
+     * Returns new version of the list with <tt>digit</tt> inserted
+     * at the specified position. This list is not changed.
+     *
+     * @param index - position of the new digit, from 0 to <tt>size()</tt>.
+     * @param digit - digit to insert.
+     * @return new version of the list.
+     */
+    public PersistentNumberList plus(int index, Byte digit) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException();
+        int d = checkDigit(digit);
+
+        Rope r = root();
+        if (r == null) {
+            long[] words = new long[LEAF_WORDS];
+            put(words, bits, 0, d);
+            return new PersistentNumberList(base, new Leaf(words, 1, bits));
+        }
+        return new PersistentNumberList(base, insert(r, index, d));
+    }
+
+    /**
+     * Returns new version of the list with the digit at the specified
+     * position replaced by <tt>digit</tt>. This list is not changed.
+     *
+     * @param index - position of the digit to replace.
+     * @param digit - new digit.
+     * @return new version of the list.
+     */
+    public PersistentNumberList with(int index, Byte digit) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        return new PersistentNumberList(base, set(root(), index, checkDigit(digit)));
+    }
+
+    /**
+     * Returns new version of the list without the digit at the specified
+     * position. This list is not changed.
+     *
+     * @param index - position of the digit to remove.
+     * @return new version of the list.
+     */
+    public PersistentNumberList minus(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+        return new PersistentNumberList(base, remove(root(), index));
+    }
+
+    /**
+     * Returns new mutable <tt>NumberListImpl</tt> with the same digits
+     * in the same scale of notation.
+     *
+     * @return mutable copy of the list.
+     */
+    public NumberListImpl toNumberListImpl() {
+        NumberListImpl list = new NumberListImpl(base);
+        list.addAll(this);
+        return list;
+    }
+
+    /**
+     * Returns string representation of number, stored in the list
+     * in <b>decimal</b> scale of notation.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        return toNumberListImpl().toDecimalString();
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) return "0";
+
+        StringBuilder sb = new StringBuilder(size);
+        forEachDigit(d -> sb.append(Character.toUpperCase(Character.forDigit(d, base))));
+        return sb.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            int[] acc = {1};
+            forEachDigit(d -> acc[0] = 31 * acc[0] + d);
+            h = acc[0];
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Byte get(int index) {
+        return getDigit(index);
+    }
+
+    @Override
+    public byte getDigit(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException();
+
+        Rope r = root();
+        while (r instanceof Branch) {
+            Branch b = (Branch) r;
+            if (index < b.left.size) {
+                r = b.left;
+            } else {
+                index -= b.left.size;
+                r = b.right;
+            }
+        }
+        return ((Leaf) r).get(index);
+    }
+
+    @Override
+    public Iterator<Byte> iterator() {
+        return new LeafIterator();
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt digitIterator() {
+        LeafIterator it = new LeafIterator();
+        return new PrimitiveIterator.OfInt() {
+            public boolean hasNext() { return it.hasNext(); }
+            public int nextInt() { return it.nextDigit(); }
+        };
+    }
+
+    @Override
+    public void forEachDigit(IntConsumer action) {
+        Objects.requireNonNull(action);
+        forEachLeaf(root(), action);
+    }
+
+    private static void forEachLeaf(Rope r, IntConsumer action) {
+        while (r instanceof Branch) {
+            Branch b = (Branch) r;
+            forEachLeaf(b.left, action);
+            r = b.right;
+        }
+        if (r != null) {
+            Leaf leaf = (Leaf) r;
+            for (int i = 0; i < leaf.size; i++) {
+                action.accept(leaf.get(i));
+            }
+        }
+    }
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sortAscending() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sortDescending() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shiftLeft() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shiftRight() {
+        throw new UnsupportedOperationException();
+    }
+
+    private int checkDigit(Byte digit) {
+        if (digit == null) throw new NullPointerException();
+        if (digit < 0 || digit >= base)
+            throw new IllegalArgumentException("Digit out of range");
+        return digit;
+    }
+
+    private static Rope set(Rope r, int index, int digit) {
+        if (r instanceof Leaf) return ((Leaf) r).with(index, digit);
+
+        Branch b = (Branch) r;
+        if (index < b.left.size) return new Branch(set(b.left, index, digit), b.right);
+        return new Branch(b.left, set(b.right, index - b.left.size, digit));
+    }
+
+    private static Rope insert(Rope r, int index, int digit) {
+        if (r instanceof Leaf) {
+            Leaf leaf = (Leaf) r;
+            if (!leaf.isFull()) return leaf.inserted(index, digit);
+
+            // повний листок на краю лишається спільним, нова цифра йде в окремий листок
+            if (index == 0 || index == leaf.size) {
+                Leaf single = new Leaf(new long[LEAF_WORDS], 0, leaf.bits).inserted(0, digit);
+                return index == 0 ? new Branch(single, leaf) : new Branch(leaf, single);
+            }
+            int half = leaf.size / 2;
+            Leaf left = leaf.slice(0, half);
+            Leaf right = leaf.slice(half, leaf.size);
+            return index <= half
+                    ? new Branch(left.inserted(index, digit), right)
+                    : new Branch(left, right.inserted(index - half, digit));
+        }
+
+        Branch b = (Branch) r;
+        if (index < b.left.size) return balance(insert(b.left, index, digit), b.right);
+        return balance(b.left, insert(b.right, index - b.left.size, digit));
+    }
+
+    // Піддерево без цифри index або null, якщо цифр не лишилося
+    private static Rope remove(Rope r, int index) {
+        if (r instanceof Leaf) {
+            Leaf leaf = (Leaf) r;
+            return leaf.size == 1 ? null : leaf.removed(index);
+        }
+
+        Branch b = (Branch) r;
+        if (index < b.left.size) {
+            Rope left = remove(b.left, index);
+            return left == null ? b.right : balance(left, b.right);
+        }
+        Rope right = remove(b.right, index - b.left.size);
+        return right == null ? b.left : balance(b.left, right);
+    }
+
+    // Вузол з піддеревами, висоти яких відрізняються не більше ніж на 2, з поворотами AVL
+    private static Rope balance(Rope left, Rope right) {
+        if (left.height > right.height + 1) {
+            Branch l = (Branch) left;
+            if (l.left.height >= l.right.height) {
+                return new Branch(l.left, new Branch(l.right, right));
+            }
+            Branch lr = (Branch) l.right;
+            return new Branch(new Branch(l.left, lr.left), new Branch(lr.right, right));
+        }
+        if (right.height > left.height + 1) {
+            Branch r = (Branch) right;
+            if (r.right.height >= r.left.height) {
+                return new Branch(new Branch(left, r.left), r.right);
+            }
+            Branch rl = (Branch) r.left;
+            return new Branch(new Branch(left, rl.left), new Branch(rl.right, r.right));
+        }
+        return new Branch(left, right);
+    }
+
+    private static byte digit(long[] words, int bits, int offset) {
+        int pos = offset * bits;
+        return (byte) ((words[pos >>> 6] >>> pos) & ((1 << bits) - 1));
+    }
+
+    private static void put(long[] words, int bits, int offset, int digit) {
+        int pos = offset * bits;
+        long mask = ((1L << bits) - 1) << pos;
+        words[pos >>> 6] = (words[pos >>> 6] & ~mask) | ((long) digit << pos);
+    }
+
+    // Обхід листків зліва направо; праві піддерева шляху чекають у стеку
+    private final class LeafIterator implements Iterator<Byte> {
+        private final Deque<Rope> pending = new ArrayDeque<>();
+        private Leaf leaf;
+        private int offset;
+
+        LeafIterator() {
+            Rope r = root();
+            if (r != null) descend(r);
+        }
+
+        private void descend(Rope r) {
+            while (r instanceof Branch) {
+                Branch b = (Branch) r;
+                pending.push(b.right);
+                r = b.left;
+            }
+            leaf = (Leaf) r;
+            offset = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        public Byte next() {
+            return nextDigit();
+        }
+
+        byte nextDigit() {
+            if (leaf == null) throw new NoSuchElementException();
+
+            byte digit = leaf.get(offset++);
+            if (offset == leaf.size) {
+                if (pending.isEmpty()) {
+                    leaf = null;
+                } else {
+                    descend(pending.pop());
+                }
+            }
+            return digit;
+        }
+    }
+}
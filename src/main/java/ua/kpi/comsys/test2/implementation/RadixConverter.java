@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Перетворення чисел між системами числення методом "розділяй і володарюй".
+ * Число розбивається навпіл за степенями основи виду
+ * base^(leaf * 2^k), які обчислюються один раз і кешуються.<p>
+ *
+ * Для великих чисел половини перетворюються паралельно в спільному
+ * пулі <tt>ForkJoinPool</tt>; менші частини обробляються послідовно.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+final class RadixConverter {
+
+    static final int MAX_BASE = 16;
+
+    // Межі, від яких частина числа перетворюється паралельно
+    private static final int PARALLEL_THRESHOLD_DIGITS = 1 << 16;
+    private static final int PARALLEL_THRESHOLD_BITS = 1 << 18;
+
+    // POWERS[base][k] = base^(leafDigits(base) * 2^k)
+    private static final BigInteger[][] POWERS = new BigInteger[MAX_BASE + 1][0];
+
+    private RadixConverter() {
+    }
+
+    /**
+     * Returns the number of digits in the given base that always fit
+     * into a non-negative <tt>long</tt>.
+     *
+     * @param base - scale of notation.
+     * @return number of digits in one leaf block.
+     */
+    static int leafDigits(int base) {
+        int k = 0;
+        for (long p = 1; p <= Long.MAX_VALUE / base; p *= base) {
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Returns value of the digits <tt>digits[from..to)</tt>, most significant
+     * digit first, in the given base.
+     */
+    static BigInteger toBigInteger(byte[] digits, int from, int to, int base) {
+        if (to - from >= PARALLEL_THRESHOLD_DIGITS && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return ForkJoinPool.commonPool().invoke(new ToBigIntegerTask(digits, from, to, base));
+        }
+        return sequentialToBigInteger(digits, from, to, base);
+    }
+
+    private static BigInteger sequentialToBigInteger(byte[] digits, int from, int to, int base) {
+        int leaf = leafDigits(base);
+        int n = to - from;
+        if (n <= leaf) {
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                value = value * base + digits[i];
+            }
+            return BigInteger.valueOf(value);
+        }
+
+        int k = splitLevel(leaf, n);
+        int split = to - (leaf << k);
+
+        BigInteger high = sequentialToBigInteger(digits, from, split, base);
+        BigInteger low = sequentialToBigInteger(digits, split, to, base);
+        return high.multiply(power(base, k)).add(low);
+    }
+
+    // Молодша частина має довжину leaf * 2^k, щоб потрібний степінь був у кеші
+    private static int splitLevel(int leaf, int n) {
+        int k = 0;
+        while ((long) leaf << (k + 1) < n) k++;
+        return k;
+    }
+
+    /**
+     * Passes digits of non-negative <tt>value</tt> in the given base to
+     * <tt>sink</tt>, most significant digit first. Large values are
+     * converted in parallel block by block, so only the digits of a few
+     * blocks are kept in memory at once.
+     *
+     * @param length - minimal number of digits, shorter values are padded
+     * with leading zeros.
+     */
+    static void toDigits(BigInteger value, int base, int length, IntConsumer sink) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (value.bitLength() >= PARALLEL_THRESHOLD_BITS && parallelism > 1) {
+            // число паралельно ділиться на блоки, а блоки перетворюються вікнами
+            // по parallelism штук: у пам'яті одночасно лише цифри одного вікна
+            List<Block> blocks = ForkJoinPool.commonPool().invoke(new SplitTask(value, base, length));
+            for (int i = 0; i < blocks.size(); i += parallelism) {
+                List<Block> window = blocks.subList(i, Math.min(i + parallelism, blocks.size()));
+                window.parallelStream().forEach(Block::convert);
+                for (Block block : window) {
+                    block.emit(sink);
+                }
+            }
+            return;
+        }
+        sequentialToDigits(value, base, length, sink);
+    }
+
+    private static void sequentialToDigits(BigInteger value, int base, int length, IntConsumer sink) {
+        if (value.bitLength() < Long.SIZE) {
+            emit(value.longValue(), base, length, sink);
+            return;
+        }
+
+        int k = divisorLevel(value, base);
+        int lowLength = leafDigits(base) << k;
+
+        BigInteger[] qr = value.divideAndRemainder(power(base, k));
+        sequentialToDigits(qr[0], base, Math.max(0, length - lowLength), sink);
+        sequentialToDigits(qr[1], base, lowLength, sink);
+    }
+
+    // Дільник - найбільший кешований степінь, не довший за половину числа
+    private static int divisorLevel(BigInteger value, int base) {
+        int half = value.bitLength() / 2 + 1;
+        int k = 0;
+        while (power(base, k + 1).bitLength() <= half) k++;
+        return k;
+    }
+
+    // Верхня оцінка кількості цифр числа довжиною bits біт
+    private static int maxDigits(int bits, int base) {
+        return (int) (bits * Math.log(2) / Math.log(base)) + 2;
+    }
+
+    /**
+     * Returns string representation of non-negative <tt>value</tt>
+     * in the given base.
+     */
+    static String toString(BigInteger value, int base) {
+        StringBuilder sb = new StringBuilder();
+        toDigits(value, base, 0, d -> sb.append(Character.forDigit(d, base)));
+        return sb.toString();
+    }
+
+    private static void emit(long value, int base, int length, IntConsumer sink) {
+        char[] buf = new char[Long.SIZE];
+        int pos = buf.length;
+        do {
+            buf[--pos] = (char) (value % base);
+            value /= base;
+        } while (value > 0);
+
+        for (int i = buf.length - pos; i < length; i++) {
+            sink.accept(0);
+        }
+        for (int i = pos; i < buf.length; i++) {
+            sink.accept(buf[i]);
+        }
+    }
+
+    // Значення цифр [from, to): старша половина обчислюється в окремій задачі
+    @SuppressWarnings("serial")
+    private static final class ToBigIntegerTask extends RecursiveTask<BigInteger> {
+        private final byte[] digits;
+        private final int from;
+        private final int to;
+        private final int base;
+
+        ToBigIntegerTask(byte[] digits, int from, int to, int base) {
+            this.digits = digits;
+            this.from = from;
+            this.to = to;
+            this.base = base;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from < PARALLEL_THRESHOLD_DIGITS) {
+                return sequentialToBigInteger(digits, from, to, base);
+            }
+
+            int leaf = leafDigits(base);
+            int k = splitLevel(leaf, to - from);
+            int split = to - (leaf << k);
+            BigInteger power = power(base, k);
+
+            ToBigIntegerTask high = new ToBigIntegerTask(digits, from, split, base);
+            high.fork();
+            BigInteger low = new ToBigIntegerTask(digits, split, to, base).compute();
+            return high.join().multiply(power).add(low);
+        }
+    }
+
+    /*
+     * Частина числа, що перетворюється послідовно: щонайменше length цифр
+     * значення value. Цифри зберігаються лише між convert та emit.
+     */
+    private static final class Block {
+        private BigInteger value;
+        private final int base;
+        private final int length;
+        private byte[] digits;
+        private int count;
+
+        Block(BigInteger value, int base, int length) {
+            this.value = value;
+            this.base = base;
+            this.length = length;
+        }
+
+        void convert() {
+            byte[] buf = new byte[Math.max(length, maxDigits(value.bitLength(), base))];
+            sequentialToDigits(value, base, length, d -> buf[count++] = (byte) d);
+            digits = buf;
+            value = null;
+        }
+
+        void emit(IntConsumer sink) {
+            for (int i = 0; i < count; i++) {
+                sink.accept(digits[i]);
+            }
+            digits = null;
+        }
+    }
+
+    // Поділ значення на блоки по порядку цифр: частки старшої половини та
+    // остачі молодшої обчислюються паралельно
+    @SuppressWarnings("serial")
+    private static final class SplitTask extends RecursiveTask<List<Block>> {
+        private final BigInteger value;
+        private final int base;
+        private final int length;
+
+        SplitTask(BigInteger value, int base, int length) {
+            this.value = value;
+            this.base = base;
+            this.length = length;
+        }
+
+        @Override
+        protected List<Block> compute() {
+            if (value.bitLength() < PARALLEL_THRESHOLD_BITS) {
+                List<Block> blocks = new ArrayList<>();
+                blocks.add(new Block(value, base, length));
+                return blocks;
+            }
+
+            int k = divisorLevel(value, base);
+            int lowLength = leafDigits(base) << k;
+            BigInteger[] qr = value.divideAndRemainder(power(base, k));
+
+            SplitTask high = new SplitTask(qr[0], base, Math.max(0, length - lowLength));
+            high.fork();
+            List<Block> low = new SplitTask(qr[1], base, lowLength).compute();
+            List<Block> blocks = high.join();
+            blocks.addAll(low);
+            return blocks;
+        }
+    }
+
+    /**
+     * Returns <tt>base^(leafDigits(base) * 2^k)</tt>, computing and caching
+     * missing powers on demand.
+     */
+    static synchronized BigInteger power(int base, int k) {
+        BigInteger[] powers = POWERS[base];
+        if (k >= powers.length) {
+            BigInteger[] grown = new BigInteger[k + 1];
+            System.arraycopy(powers, 0, grown, 0, powers.length);
+            for (int i = powers.length; i <= k; i++) {
+                grown[i] = i == 0
+                        ? BigInteger.valueOf(base).pow(leafDigits(base))
+                        : grown[i - 1].multiply(grown[i - 1]);
+            }
+            POWERS[base] = grown;
+            powers = grown;
+        }
+        return powers[k];
+    }
+}
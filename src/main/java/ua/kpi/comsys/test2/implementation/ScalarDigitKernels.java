@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Скалярна реалізація {@link DigitKernels}. Цифри у слові обробляються
+ * одночасно бітовими операціями над усім словом (SWAR).
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+final class ScalarDigitKernels implements DigitKernels {
+
+    @Override
+    public void and(long[] a, long[] b, long[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = a[i] & b[i];
+        }
+    }
+
+    @Override
+    public void or(long[] a, long[] b, long[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = a[i] | b[i];
+        }
+    }
+
+    @Override
+    public void xor(long[] a, long[] b, long[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = a[i] ^ b[i];
+        }
+    }
+
+    @Override
+    public void andNot(long[] a, long[] b, long[] dst, int n) {
+        for (int i = 0; i < n; i++) {
+            dst[i] = a[i] & ~b[i];
+        }
+    }
+
+    @Override
+    public boolean equal(long[] a, long[] b, int n) {
+        return Arrays.equals(a, 0, n, b, 0, n);
+    }
+
+    @Override
+    public long countDigit(long[] words, int n, int bits, int digit) {
+        long pattern = digit * lowBits(bits);
+        long count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(nonZeroFields(words[i] ^ pattern, bits));
+        }
+        return (long) n * (Long.SIZE / bits) - count;
+    }
+
+    @Override
+    public boolean hasDigitAtLeast(long[] words, int n, int bits, int base) {
+        if (base >= 1 << bits) return false;
+
+        // до кожного поля додається 2^bits - base; перенос за межу поля означає цифру >= base
+        long spread = spreadMask(bits);
+        long add = ((1L << bits) - base) * (lowBits(bits) & spread);
+        long carry = spread << 1 & ~spread;
+        for (int i = 0; i < n; i++) {
+            long w = words[i];
+            if ((((w & spread) + add) & carry) != 0 || ((((w >>> bits) & spread) + add) & carry) != 0) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int firstOutside(byte[] a, int from, int to, int lo, int hi) {
+        for (int i = from; i < to; i++) {
+            if (a[i] < lo || a[i] >= hi) return i;
+        }
+        return to;
+    }
+
+    // Одиничний молодший біт у кожному полі довжиною bits
+    static long lowBits(int bits) {
+        return bits == 1 ? -1L : bits == 2 ? 0x5555555555555555L : 0x1111111111111111L;
+    }
+
+    // Поля через одне (парні), доповнені нулями до подвійної ширини
+    static long spreadMask(int bits) {
+        return bits == 1 ? 0x5555555555555555L : bits == 2 ? 0x3333333333333333L : 0x0F0F0F0F0F0F0F0FL;
+    }
+
+    // Молодший біт кожного ненульового поля x
+    static long nonZeroFields(long x, int bits) {
+        if (bits == 1) return x;
+        if (bits == 2) return (x | x >>> 1) & 0x5555555555555555L;
+
+        x |= x >>> 1;
+        return (x | x >>> 2) & 0x1111111111111111L;
+    }
+}
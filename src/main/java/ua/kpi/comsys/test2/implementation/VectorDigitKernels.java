@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторна реалізація {@link DigitKernels} на <tt>jdk.incubator.vector</tt>.
+ * Обробляє стільки слів або байтів за крок, скільки вміщує найширший
+ * регістр процесора; залишок обробляється скалярною реалізацією.<p>
+ *
+ * Створюється лише через {@link DigitKernels#INSTANCE}, коли модуль
+ * підключено до JVM.
+ *
+ * @author Гармаш Максим Андрійович
+ * Група: ІС-31
+ * Варіант: 5
+ */
+final class VectorDigitKernels implements DigitKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    private final ScalarDigitKernels scalar = new ScalarDigitKernels();
+
+    @Override
+    public void and(long[] a, long[] b, long[] dst, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, a, i).and(LongVector.fromArray(LONGS, b, i)).intoArray(dst, i);
+        }
+        for (; i < n; i++) {
+            dst[i] = a[i] & b[i];
+        }
+    }
+
+    @Override
+    public void or(long[] a, long[] b, long[] dst, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, a, i).or(LongVector.fromArray(LONGS, b, i)).intoArray(dst, i);
+        }
+        for (; i < n; i++) {
+            dst[i] = a[i] | b[i];
+        }
+    }
+
+    @Override
+    public void xor(long[] a, long[] b, long[] dst, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, a, i)
+                    .lanewise(VectorOperators.XOR, LongVector.fromArray(LONGS, b, i))
+                    .intoArray(dst, i);
+        }
+        for (; i < n; i++) {
+            dst[i] = a[i] ^ b[i];
+        }
+    }
+
+    @Override
+    public void andNot(long[] a, long[] b, long[] dst, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector.fromArray(LONGS, a, i)
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(LONGS, b, i))
+                    .intoArray(dst, i);
+        }
+        for (; i < n; i++) {
+            dst[i] = a[i] & ~b[i];
+        }
+    }
+
+    @Override
+    public boolean equal(long[] a, long[] b, int n) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            if (LongVector.fromArray(LONGS, a, i).compare(VectorOperators.NE, LongVector.fromArray(LONGS, b, i))
+                    .anyTrue()) return false;
+        }
+        for (; i < n; i++) {
+            if (a[i] != b[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public long countDigit(long[] words, int n, int bits, int digit) {
+        long pattern = digit * ScalarDigitKernels.lowBits(bits);
+        LongVector counts = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector x = LongVector.fromArray(LONGS, words, i).lanewise(VectorOperators.XOR, pattern);
+            counts = counts.add(bitCount(nonZeroFields(x, bits)));
+        }
+
+        long count = counts.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            count += Long.bitCount(ScalarDigitKernels.nonZeroFields(words[i] ^ pattern, bits));
+        }
+        return (long) n * (Long.SIZE / bits) - count;
+    }
+
+    @Override
+    public boolean hasDigitAtLeast(long[] words, int n, int bits, int base) {
+        if (base >= 1 << bits) return false;
+
+        long spread = ScalarDigitKernels.spreadMask(bits);
+        long add = ((1L << bits) - base) * (ScalarDigitKernels.lowBits(bits) & spread);
+        long carry = spread << 1 & ~spread;
+        int i = 0;
+        for (int bound = LONGS.loopBound(n); i < bound; i += LONGS.length()) {
+            LongVector w = LongVector.fromArray(LONGS, words, i);
+            LongVector even = w.and(spread).add(add);
+            LongVector odd = w.lanewise(VectorOperators.LSHR, bits).and(spread).add(add);
+            if (even.or(odd).and(carry).compare(VectorOperators.NE, 0).anyTrue()) return true;
+        }
+        for (; i < n; i++) {
+            long w = words[i];
+            if ((((w & spread) + add) & carry) != 0 || ((((w >>> bits) & spread) + add) & carry) != 0) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int firstOutside(byte[] a, int from, int to, int lo, int hi) {
+        int i = from;
+        for (int bound = from + BYTES.loopBound(to - from); i < bound; i += BYTES.length()) {
+            ByteVector v = ByteVector.fromArray(BYTES, a, i);
+            VectorMask<Byte> outside = v.compare(VectorOperators.LT, (byte) lo)
+                    .or(v.compare(VectorOperators.GE, (byte) hi));
+            if (outside.anyTrue()) return i + outside.firstTrue();
+        }
+        return scalar.firstOutside(a, i, to, lo, hi);
+    }
+
+    // Молодший біт кожного ненульового поля, для кожного слова вектора
+    private static LongVector nonZeroFields(LongVector x, int bits) {
+        if (bits == 1) return x;
+        if (bits == 2) return x.or(x.lanewise(VectorOperators.LSHR, 1)).and(0x5555555555555555L);
+
+        x = x.or(x.lanewise(VectorOperators.LSHR, 1));
+        return x.or(x.lanewise(VectorOperators.LSHR, 2)).and(0x1111111111111111L);
+    }
+
+    // Кількість одиничних бітів кожного слова вектора
+    private static LongVector bitCount(LongVector x) {
+        x = x.sub(x.lanewise(VectorOperators.LSHR, 1).and(0x5555555555555555L));
+        x = x.and(0x3333333333333333L).add(x.lanewise(VectorOperators.LSHR, 2).and(0x3333333333333333L));
+        x = x.add(x.lanewise(VectorOperators.LSHR, 4)).and(0x0F0F0F0F0F0F0F0FL);
+        return x.mul(0x0101010101010101L).lanewise(VectorOperators.LSHR, 56);
+    }
+}
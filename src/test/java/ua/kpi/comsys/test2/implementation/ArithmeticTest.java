@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ArithmeticTest {
+
+    static String BIG1 = "123456789012345678901234567890123456789012345678901234567890";
+    static String BIG2 = "987654321098765432109876543210987654321";
+
+    @Test
+    public void testAdd() {
+        NumberListImpl result = new NumberListImpl("15").add(new NumberListImpl("2"));
+
+        assertEquals("Wrong sum", new NumberListImpl("17"), result);
+    }
+
+    @Test
+    public void testAddCarry() {
+        NumberListImpl result = new NumberListImpl(BIG1).add(new NumberListImpl(BIG2));
+
+        assertEquals("Wrong sum",
+                "123456789012345678902222222211222222221122222222112222222211", result.toDecimalString());
+    }
+
+    @Test
+    public void testAddOtherBase() {
+        NumberListImpl list = new NumberListImpl(BIG1).changeScale();
+        NumberListImpl result = list.add(new NumberListImpl(BIG2));
+
+        NumberListImpl expected = new NumberListImpl(
+                "123456789012345678902222222211222222221122222222112222222211").changeScale();
+
+        assertEquals("Sum should keep the scale of notation", expected.toString(), result.toString());
+    }
+
+    @Test
+    public void testAddSnapshotOtherBase() {
+        NumberListImpl ternary = new NumberListImpl("10").changeScale();
+
+        assertEquals("Snapshot should keep its scale of notation",
+                "20", new NumberListImpl("10").add(ternary.snapshot()).toDecimalString());
+        assertEquals("Snapshot should keep its scale of notation",
+                "12", ternary.add(new NumberListImpl("2").snapshot()).toDecimalString());
+        assertEquals("Concurrent list should keep its scale of notation",
+                "12", ternary.add(new ConcurrentNumberList("2")).toDecimalString());
+
+        NumberListImpl hex = new NumberListImpl(BIG2).changeScale(16);
+        assertEquals("Wrong sum", new NumberListImpl(BIG2).multiply(new NumberListImpl("2")).toDecimalString(),
+                new NumberListImpl(BIG2).changeScale().add(hex.snapshot()).toDecimalString());
+    }
+
+    @Test
+    public void testSubtract() {
+        NumberListImpl result = new NumberListImpl(BIG1).subtract(new NumberListImpl(BIG2));
+
+        assertEquals("Wrong difference",
+                "123456789012345678900246913569024691356902469135690246913569", result.toDecimalString());
+    }
+
+    @Test
+    public void testSubtractToZero() {
+        NumberListImpl result = new NumberListImpl(BIG1).subtract(new NumberListImpl(BIG1));
+
+        assertEquals("Wrong difference", new NumberListImpl("0"), result);
+    }
+
+    @Test
+    public void testSubtractNegative() {
+        try {
+            new NumberListImpl("2").subtract(new NumberListImpl("15"));
+            fail("Negative result should not be allowed");
+        } catch (ArithmeticException e) {
+            // очікувана помилка
+        }
+    }
+
+    @Test
+    public void testMultiply() {
+        NumberListImpl result = new NumberListImpl(BIG1).multiply(new NumberListImpl(BIG2));
+
+        assertEquals("Wrong product", "1219326311370217952261850327338667885944993141284499314128448712086533"
+                + "62292333223746380111126352690", result.toDecimalString());
+    }
+
+    @Test
+    public void testMultiplyByZero() {
+        NumberListImpl result = new NumberListImpl(BIG1).multiply(new NumberListImpl());
+
+        assertEquals("Wrong product", new NumberListImpl("0"), result);
+    }
+
+    @Test
+    public void testMultiplyLong() {
+        // (2^n - 1)^2 = 2^2n - 2^(n+1) + 1: n - 1 одиниць, n нулів і одиниця
+        int n = 100000;
+        NumberListImpl list = new NumberListImpl();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            list.add((byte) 1);
+            expected.append(i < n - 1 ? '1' : '0');
+        }
+        for (int i = 1; i < n; i++) {
+            expected.append('0');
+        }
+        expected.append('1');
+
+        assertEquals("Wrong product", expected.toString(), list.multiply(list).toString());
+    }
+
+    @Test
+    public void testDivide() {
+        NumberListImpl[] result = new NumberListImpl(BIG1).divideAndRemainder(new NumberListImpl(BIG2));
+
+        assertEquals("Wrong quotient", "124999998860937500014", result[0].toDecimalString());
+        assertEquals("Wrong remainder", "235339506023533950614699073961469907396", result[1].toDecimalString());
+    }
+
+    @Test
+    public void testDivideSingleLimb() {
+        NumberListImpl list = new NumberListImpl(BIG1);
+
+        assertEquals("Wrong quotient", "17636684144620811271604938270017636684144620811271604938270",
+                list.divide(new NumberListImpl("7")).toDecimalString());
+        assertEquals("Wrong remainder", new NumberListImpl("0"), list.mod(new NumberListImpl("7")));
+    }
+
+    @Test
+    public void testDivideLong() {
+        int n = 100000;
+        NumberListImpl divisor = new NumberListImpl();
+        for (int i = 0; i < n; i++) {
+            divisor.add((byte) 1);
+        }
+        NumberListImpl five = new NumberListImpl("5");
+        NumberListImpl dividend = divisor.multiply(divisor).add(five);
+
+        NumberListImpl[] result = dividend.divideAndRemainder(divisor);
+
+        assertEquals("Wrong quotient", divisor, result[0]);
+        assertEquals("Wrong remainder", five, result[1]);
+    }
+
+    @Test
+    public void testDivideByZero() {
+        try {
+            new NumberListImpl(BIG1).divide(new NumberListImpl("0"));
+            fail("Division by zero should not be allowed");
+        } catch (ArithmeticException e) {
+            // очікувана помилка
+        }
+    }
+
+    @Test
+    public void testCompare() {
+        NumberListImpl small = new NumberListImpl(BIG2);
+        NumberListImpl big = new NumberListImpl(BIG1);
+
+        assertTrue("Smaller number compared as greater", small.compareTo(big) < 0);
+        assertTrue("Greater number compared as smaller", big.compareTo(small) > 0);
+        assertEquals("Equal numbers compared as different", 0, big.compareTo(new NumberListImpl(BIG1)));
+    }
+
+    @Test
+    public void testCompareLeadingZeros() {
+        NumberListImpl list = new NumberListImpl("5");
+        list.add(0, (byte) 0);
+
+        assertEquals("Leading zeros should be ignored", 0, list.compareTo(new NumberListImpl("5")));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BinaryFileTest {
+
+    static String FILE_BIG = "src/test/resources/BigNumber.txt";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSaveLoadBigNumber() throws IOException {
+        NumberListImpl list = new NumberListImpl(new File(FILE_BIG));
+        Path path = folder.newFile("big.bin").toPath();
+
+        list.saveBinary(path);
+        NumberListImpl loaded = NumberListImpl.loadBinary(path);
+
+        assertEquals("Lists are not equal after binary save/load", list, loaded);
+        assertEquals("Wrong value after binary save/load", list.toDecimalString(), loaded.toDecimalString());
+    }
+
+    @Test
+    public void testSaveLoadOtherBase() throws IOException {
+        NumberListImpl list = new NumberListImpl(new File(FILE_BIG)).changeScale();
+        Path path = folder.newFile("ternary.bin").toPath();
+
+        list.saveBinary(path);
+        NumberListImpl loaded = NumberListImpl.loadBinary(path);
+
+        assertEquals("Wrong digits after binary save/load", list.toString(), loaded.toString());
+        assertEquals("Wrong value after binary save/load", list.toDecimalString(), loaded.toDecimalString());
+    }
+
+    @Test
+    public void testSaveLoadEmpty() throws IOException {
+        Path path = folder.newFile("empty.bin").toPath();
+
+        new NumberListImpl().saveBinary(path);
+
+        assertTrue("Loaded list should be empty", NumberListImpl.loadBinary(path).isEmpty());
+    }
+
+    @Test
+    public void testCorruptedFile() throws IOException {
+        Path path = folder.newFile("corrupted.bin").toPath();
+        new NumberListImpl(new File(FILE_BIG)).saveBinary(path);
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        try {
+            NumberListImpl.loadBinary(path);
+            fail("Corrupted file should not be loaded");
+        } catch (IOException e) {
+            // очікувана помилка контрольної суми
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BitwiseTest {
+
+    @Test
+    public void testOr() {
+        NumberListImpl result = new NumberListImpl("12").or(new NumberListImpl("3"));
+
+        assertEquals("OR implemented in a wrong way", new NumberListImpl("15"), result);
+    }
+
+    @Test
+    public void testOperandOtherBase() {
+        NumberListImpl ternary = new NumberListImpl("10").changeScale();
+
+        assertEquals("Snapshot should keep its scale of notation",
+                "10", new NumberListImpl("10").additionalOperation(ternary.snapshot()).toDecimalString());
+        assertEquals("Snapshot should keep its scale of notation",
+                "14", new NumberListImpl("12").or(ternary.snapshot()).toDecimalString());
+    }
+
+    @Test
+    public void testXor() {
+        NumberListImpl result = new NumberListImpl("15").xor(new NumberListImpl("2"));
+
+        assertEquals("XOR implemented in a wrong way", new NumberListImpl("13"), result);
+    }
+
+    @Test
+    public void testXorToZero() {
+        NumberListImpl result = new NumberListImpl("15").xor(new NumberListImpl("15"));
+
+        assertEquals("XOR implemented in a wrong way", new NumberListImpl("0"), result);
+    }
+
+    @Test
+    public void testAndNot() {
+        NumberListImpl result = new NumberListImpl("15").andNot(new NumberListImpl("2"));
+
+        assertEquals("AND-NOT implemented in a wrong way", new NumberListImpl("13"), result);
+    }
+
+    @Test
+    public void testOtherBase() {
+        NumberListImpl result = new NumberListImpl("12").changeScale().or(new NumberListImpl("3"));
+
+        assertEquals("Result should keep the scale of notation", "120", result.toString());
+    }
+
+    @Test
+    public void testShiftLeftBits() {
+        NumberListImpl result = new NumberListImpl("15").shiftLeftBits(70);
+
+        assertEquals("Left shift implemented in a wrong way", "17708874310761169551360", result.toDecimalString());
+    }
+
+    @Test
+    public void testShiftRightBits() {
+        NumberListImpl result = new NumberListImpl("17708874310761169551360").shiftRightBits(69);
+
+        assertEquals("Right shift implemented in a wrong way", new NumberListImpl("30"), result);
+    }
+
+    @Test
+    public void testShiftRightAll() {
+        NumberListImpl result = new NumberListImpl("15").shiftRightBits(100);
+
+        assertEquals("Right shift implemented in a wrong way", new NumberListImpl("0"), result);
+    }
+}
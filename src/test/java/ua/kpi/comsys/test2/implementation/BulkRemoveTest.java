@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BulkRemoveTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testRemoveAllRetainAll() {
+        NumberListImpl list = new NumberListImpl(BIG).changeScale();
+        List<Byte> expected = new ArrayList<>(list);
+
+        List<Byte> arg = Arrays.asList((byte) 1, (byte) 5);
+        assertTrue("List should change", list.removeAll(arg));
+        expected.removeAll(arg);
+        assertEquals("Wrong digits after removeAll", expected, list);
+
+        assertFalse("List should not change", list.removeAll(arg));
+        assertFalse("List should not change", list.retainAll(list));
+
+        arg = Arrays.asList((byte) 2);
+        list.retainAll(arg);
+        expected.retainAll(arg);
+        assertEquals("Wrong digits after retainAll", expected, list);
+
+        list.add((byte) 1);
+        assertEquals("List should stay usable", Byte.valueOf((byte) 1), list.get(list.size() - 1));
+    }
+
+    @Test
+    public void testRemoveIf() {
+        Random random = new Random(25);
+        for (int round = 0; round < 50; round++) {
+            NumberListImpl list = new NumberListImpl();
+            List<Byte> expected = new ArrayList<>();
+            int n = random.nextInt(3000);
+            for (int i = 0; i < n; i++) {
+                byte digit = (byte) random.nextInt(2);
+                if (random.nextInt(5) == 0 && !expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    list.add(index, digit);
+                    expected.add(index, digit);
+                } else {
+                    list.add(digit);
+                    expected.add(digit);
+                }
+            }
+
+            // предикат зі станом: видаляється кожна третя одиниця
+            int[] ones = new int[2];
+            list.removeIf(d -> d == 1 && ones[0]++ % 3 == 0);
+            expected.removeIf(d -> d == 1 && ones[1]++ % 3 == 0);
+            assertEquals("Wrong digits after removeIf", expected, list);
+            assertEquals("Wrong size after removeIf", expected.size(), list.size());
+        }
+    }
+
+    @Test
+    public void testRemoveIfAll() {
+        NumberListImpl list = new NumberListImpl(BIG);
+
+        PersistentNumberList snapshot = list.snapshot();
+        assertTrue("List should change", list.removeIf(d -> true));
+        assertTrue("List should be empty", list.isEmpty());
+        assertFalse("Empty list should not change", list.removeIf(d -> true));
+
+        list.add((byte) 1);
+        list.set(0, (byte) 0);
+        assertEquals("List should stay usable", "0", list.toString());
+        assertEquals("Snapshot should not see later changes", new NumberListImpl(BIG).toString(), snapshot.toString());
+    }
+
+    @Test
+    public void testRemoveIfKeepsSnapshot() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        String digits = list.toString();
+        PersistentNumberList snapshot = list.snapshot();
+        list.removeIf(d -> d == 0);
+
+        assertEquals("Snapshot should not see later changes", digits, snapshot.toString());
+        try {
+            new ConcurrentNumberList(BIG).removeIf(null);
+            fail("Null predicate should not be accepted");
+        } catch (NullPointerException e) {
+            // очікувана помилка
+        }
+    }
+}
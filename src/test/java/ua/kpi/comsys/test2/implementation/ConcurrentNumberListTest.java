@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentNumberListTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testSameAsNumberListImpl() {
+        ConcurrentNumberList list = new ConcurrentNumberList(BIG);
+        NumberListImpl expected = new NumberListImpl(BIG);
+
+        assertEquals("Wrong digits", expected.toString(), list.toString());
+        assertEquals("Wrong decimal value", BIG, list.toDecimalString());
+        assertEquals("Lists are not equal", expected, list.copy());
+        assertTrue("Lists are not equal", list.equals(expected));
+    }
+
+    @Test
+    public void testModification() {
+        ConcurrentNumberList list = new ConcurrentNumberList("10");
+        list.add((byte) 1);
+        list.set(0, (byte) 0);
+        list.add(0, (byte) 1);
+
+        assertEquals("Wrong digits", "100101", list.toString());
+        assertEquals("Wrong digit", Byte.valueOf((byte) 0), list.get(2));
+        assertEquals("Wrong size", 6, list.size());
+    }
+
+    @Test
+    public void testIteratorIsWeaklyConsistent() {
+        ConcurrentNumberList list = new ConcurrentNumberList("5");
+        Iterator<Byte> it = list.iterator();
+        list.clear();
+
+        assertFalse("Iterator should see digits removed before the first read", it.hasNext());
+        try {
+            it.remove();
+            fail("Iterator should not change the list");
+        } catch (UnsupportedOperationException e) {
+            // очікувана помилка
+        }
+
+        list = new ConcurrentNumberList(BIG + BIG + BIG + BIG);
+        NumberListImpl expected = new NumberListImpl(BIG + BIG + BIG + BIG);
+        for (int i = 0; i < 10; i++) {
+            NumberListImpl half = expected.copy();
+            expected.addAll(half);
+            list.addAll(half);
+        }
+        List<Byte> digits = new ArrayList<>();
+        list.iterator().forEachRemaining(digits::add);
+        assertEquals("Wrong digits", new ArrayList<>(expected), digits);
+        assertEquals("Wrong digit stream", expected.digits().sum(), list.digits().sum());
+
+        list.set(0, (byte) 0);
+        expected.set(0, (byte) 0);
+        assertEquals("Wrong decimal value after change", expected.toDecimalString(), list.toDecimalString());
+    }
+
+    @Test
+    public void testReadsInPlace() {
+        ConcurrentNumberList list = new ConcurrentNumberList(BIG);
+        ConcurrentNumberList other = new ConcurrentNumberList(BIG);
+        NumberListImpl expected = new NumberListImpl(BIG);
+
+        assertEquals("Wrong hash code", new ArrayList<>(expected).hashCode(), list.hashCode());
+        list.add((byte) 1);
+        expected.add((byte) 1);
+        assertEquals("Wrong hash code after change", expected.hashCode(), list.hashCode());
+        assertFalse("Lists should differ", list.equals(other));
+        other.add((byte) 1);
+        assertTrue("Lists should be equal", list.equals(other));
+        assertTrue("List should contain itself", list.containsAll(list));
+        assertEquals("Wrong last index", expected.lastIndexOf((byte) 0), list.lastIndexOf((byte) 0));
+
+        List<Byte> view = list.subList(1, 5);
+        list.set(1, (byte) (1 - list.get(1)));
+        expected.set(1, (byte) (1 - expected.get(1)));
+        assertEquals("View should read the current digits", expected.subList(1, 5), view);
+        try {
+            view.set(0, (byte) 0);
+            fail("View should not change the list");
+        } catch (UnsupportedOperationException e) {
+            // очікувана помилка
+        }
+    }
+
+    @Test
+    public void testRetainAllSelf() {
+        ConcurrentNumberList list = new ConcurrentNumberList("5");
+
+        assertFalse("List should not change", list.retainAll(list));
+    }
+
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        int digits = 20000;
+        ConcurrentNumberList list = new ConcurrentNumberList("1");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            Future<?> writer = pool.submit(() -> {
+                for (int i = 1; i < digits; i++) {
+                    list.add((byte) 1);
+                }
+            });
+            for (int t = 0; t < 3; t++) {
+                readers.add(pool.submit(() -> {
+                    while (!writer.isDone()) {
+                        // кожне читання бачить лише одиниці, скільки б їх не було
+                        int size = list.size();
+                        assertEquals("Wrong digit", Byte.valueOf((byte) 1), list.get(size - 1));
+                        assertEquals("Wrong digit", -1, list.indexOf((byte) 0));
+                    }
+                }));
+            }
+
+            writer.get(1, TimeUnit.MINUTES);
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals("Wrong size", digits, list.size());
+        assertEquals("Wrong bit count", digits, list.copy().bitCount());
+    }
+
+    @Test
+    public void testReadsDoNotBreakWriterPositions() throws Exception {
+        ConcurrentNumberList list = new ConcurrentNumberList(BIG);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            // лише цей потік змінює список, тож його копія завжди точна
+            Future<?> writer = pool.submit(() -> {
+                Random random = new Random(18);
+                List<Byte> expected = new ArrayList<>(list.copy());
+                for (int i = 0; i < 20000; i++) {
+                    int index = random.nextInt(expected.size());
+                    if (random.nextBoolean()) {
+                        byte digit = (byte) random.nextInt(2);
+                        list.add(index, digit);
+                        expected.add(index, digit);
+                    } else if (expected.size() > 1) {
+                        list.remove(index);
+                        expected.remove(index);
+                    }
+                    index = random.nextInt(expected.size());
+                    assertEquals("Wrong digit after " + i + " changes", expected.get(index), list.get(index));
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(pool.submit(() -> {
+                    Random random = new Random();
+                    while (!writer.isDone()) {
+                        try {
+                            list.get(random.nextInt(list.size()));
+                        } catch (IndexOutOfBoundsException e) {
+                            // список скоротився між size та get
+                        }
+                    }
+                }));
+            }
+
+            writer.get(1, TimeUnit.MINUTES);
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
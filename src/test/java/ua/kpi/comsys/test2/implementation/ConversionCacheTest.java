@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ConversionCacheTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testDecimalStringCached() throws IOException {
+        NumberListImpl list = new NumberListImpl(BIG);
+        String decimal = list.toDecimalString();
+
+        assertSame("Unchanged list should return cached string", decimal, list.toDecimalString());
+        StringBuilder sb = new StringBuilder();
+        list.writeTo(sb);
+        assertEquals("Wrong written value", BIG, sb.toString());
+
+        list.add((byte) 1);
+        String expected = new BigInteger(BIG).shiftLeft(1).add(BigInteger.ONE).toString();
+        assertEquals("Changed list should be converted again", expected, list.toDecimalString());
+        sb.setLength(0);
+        list.writeTo(sb);
+        assertEquals("Wrong written value", expected, sb.toString());
+    }
+
+    @Test
+    public void testChangeScaleReturnsCopy() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        NumberListImpl first = list.changeScale();
+        NumberListImpl second = list.changeScale();
+
+        assertNotSame("Each call should return new list", first, second);
+        assertEquals("Wrong digits", first, second);
+
+        first.set(0, (byte) 0);
+        assertEquals("Cached result should not change", second, list.changeScale());
+        assertEquals("Wrong decimal value", BIG, list.changeScale().toDecimalString());
+        assertEquals("Wrong binary digits", list, list.changeScale(3).changeScale(2));
+
+        list.shiftLeft();
+        assertEquals("Changed list should be converted again",
+                list.toDecimalString(), list.changeScale().toDecimalString());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DigitKernelsTest {
+
+    // Реалізація, обрана для цієї JVM, порівнюється зі скалярною
+    DigitKernels kernels = DigitKernels.INSTANCE;
+    DigitKernels scalar = new ScalarDigitKernels();
+    Random random = new Random(5);
+
+    @Test
+    public void testBitwise() {
+        for (int n = 0; n < 40; n++) {
+            long[] a = randomWords(n);
+            long[] b = randomWords(n);
+            long[] expected = new long[n];
+            long[] actual = new long[n];
+
+            scalar.and(a, b, expected, n);
+            kernels.and(a, b, actual, n);
+            assertArrayEquals("Wrong AND", expected, actual);
+
+            scalar.or(a, b, expected, n);
+            kernels.or(a, b, actual, n);
+            assertArrayEquals("Wrong OR", expected, actual);
+
+            scalar.xor(a, b, expected, n);
+            kernels.xor(a, b, actual, n);
+            assertArrayEquals("Wrong XOR", expected, actual);
+
+            scalar.andNot(a, b, expected, n);
+            kernels.andNot(a, b, actual, n);
+            assertArrayEquals("Wrong AND-NOT", expected, actual);
+        }
+    }
+
+    @Test
+    public void testEqual() {
+        for (int n = 1; n < 40; n++) {
+            long[] a = randomWords(n);
+            long[] b = a.clone();
+            assertTrue("Equal words reported as different", kernels.equal(a, b, n));
+
+            b[random.nextInt(n)] ^= 1L << random.nextInt(Long.SIZE);
+            assertFalse("Different words reported as equal", kernels.equal(a, b, n));
+        }
+    }
+
+    @Test
+    public void testCountDigit() {
+        for (int bits = 1; bits <= 4; bits *= 2) {
+            for (int n = 0; n < 40; n++) {
+                long[] words = randomWords(n);
+                for (int digit = 1; digit < 1 << bits; digit++) {
+                    long expected = 0;
+                    for (int i = 0; i < n * Long.SIZE / bits; i++) {
+                        if ((words[i * bits >>> 6] >>> (i * bits) & ((1 << bits) - 1)) == digit) expected++;
+                    }
+                    assertEquals("Wrong count of digit " + digit, expected, kernels.countDigit(words, n, bits, digit));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHasDigitAtLeast() {
+        int[][] cases = {{2, 3}, {4, 5}, {4, 10}, {4, 16}};
+        for (int[] c : cases) {
+            int bits = c[0];
+            int base = c[1];
+            for (int n = 1; n < 40; n++) {
+                long[] words = new long[n];
+                for (int i = 0; i < n * Long.SIZE / bits; i++) {
+                    words[i * bits >>> 6] |= (long) random.nextInt(base) << (i * bits);
+                }
+                assertFalse("Valid digits reported as invalid", kernels.hasDigitAtLeast(words, n, bits, base));
+
+                if (base < 1 << bits) {
+                    int i = random.nextInt(n * Long.SIZE / bits);
+                    words[i * bits >>> 6] |= (long) ((1 << bits) - 1) << (i * bits);
+                    assertTrue("Invalid digit not found", kernels.hasDigitAtLeast(words, n, bits, base));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFirstOutside() {
+        for (int n = 0; n < 200; n++) {
+            byte[] a = new byte[n];
+            for (int i = 0; i < n; i++) {
+                a[i] = (byte) ('0' + random.nextInt(10));
+            }
+            assertEquals("Digit reported as non-digit", n, kernels.firstOutside(a, 0, n, '0', '9' + 1));
+
+            if (n > 0) {
+                int i = random.nextInt(n);
+                a[i] = (byte) (random.nextBoolean() ? ' ' : 0x80);
+                assertEquals("Wrong non-digit position", i, kernels.firstOutside(a, 0, n, '0', '9' + 1));
+                assertEquals("Wrong non-digit position", i, kernels.firstOutside(a, i, n, '0', '9' + 1));
+            }
+        }
+    }
+
+    private long[] randomWords(int n) {
+        long[] words = new long[n];
+        for (int i = 0; i < n; i++) {
+            words[i] = random.nextLong();
+        }
+        return words;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashCodeTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testHashCodeContract() {
+        Random random = new Random(22);
+        NumberListImpl list = new NumberListImpl();
+        List<Byte> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            byte digit = (byte) random.nextInt(2);
+            int op = random.nextInt(4);
+            if (op < 2 || expected.isEmpty()) {
+                list.add(digit);
+                expected.add(digit);
+            } else if (op == 2) {
+                int index = random.nextInt(expected.size());
+                list.set(index, digit);
+                expected.set(index, digit);
+            } else {
+                int index = random.nextInt(expected.size());
+                list.remove(index);
+                expected.remove(index);
+            }
+            if (i % 7 == 0) {
+                assertEquals("Wrong hash code after " + i + " changes", expected.hashCode(), list.hashCode());
+            }
+        }
+        assertEquals("Wrong hash code", expected.hashCode(), list.hashCode());
+    }
+
+    @Test
+    public void testHashSet() {
+        Set<NumberListImpl> set = new HashSet<>();
+        set.add(new NumberListImpl(BIG));
+        set.add(new NumberListImpl(BIG));
+        set.add(new NumberListImpl(BIG).changeScale());
+
+        assertEquals("Equal lists should be deduplicated", 2, set.size());
+        assertTrue("List should be found", set.contains(new NumberListImpl(BIG)));
+    }
+
+    @Test
+    public void testEquals() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        NumberListImpl other = new NumberListImpl(BIG);
+        list.hashCode();
+        other.hashCode();
+        other.set(other.size() - 1, (byte) (1 - other.get(other.size() - 1)));
+
+        assertFalse("Lists should differ", list.equals(other));
+        assertEquals("Lists should be equal", list, list.snapshot());
+        assertEquals("Snapshot should have the same hash code", list.hashCode(), list.snapshot().hashCode());
+
+        // однакові цифри у різних системах числення
+        NumberListImpl binary = new NumberListImpl("5");
+        NumberListImpl ternary = new NumberListImpl("10").changeScale();
+        assertEquals("Lists with the same digits should be equal", binary, ternary);
+        assertEquals("Wrong hash code", binary.hashCode(), ternary.hashCode());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PersistentNumberListTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testVersions() {
+        PersistentNumberList v0 = new PersistentNumberList();
+        PersistentNumberList v1 = v0.plus((byte) 1).plus((byte) 0).plus((byte) 1);
+        PersistentNumberList v2 = v1.with(1, (byte) 1);
+        PersistentNumberList v3 = v2.minus(0);
+        PersistentNumberList v4 = v3.plus(0, (byte) 0);
+
+        assertTrue("Old version should not change", v0.isEmpty());
+        assertEquals("Wrong digits", "101", v1.toString());
+        assertEquals("Wrong digits", "111", v2.toString());
+        assertEquals("Wrong digits", "11", v3.toString());
+        assertEquals("Wrong digits", "011", v4.toString());
+        assertEquals("Wrong decimal value", "5", v1.toDecimalString());
+    }
+
+    @Test
+    public void testSameAsArrayList() {
+        Random random = new Random(19);
+        PersistentNumberList list = new PersistentNumberList();
+        List<Byte> expected = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(4);
+            byte digit = (byte) random.nextInt(2);
+            if (op < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list = list.plus(index, digit);
+                expected.add(index, digit);
+            } else if (op == 2) {
+                int index = random.nextInt(expected.size());
+                list = list.with(index, digit);
+                expected.set(index, digit);
+            } else {
+                int index = random.nextInt(expected.size());
+                list = list.minus(index);
+                expected.remove(index);
+            }
+        }
+
+        assertEquals("Lists are not equal", expected, list);
+        assertEquals("Wrong digit", expected.get(expected.size() / 2), list.get(expected.size() / 2));
+    }
+
+    @Test
+    public void testSnapshot() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        String digits = list.toString();
+        PersistentNumberList snapshot = list.snapshot();
+
+        list.add((byte) 1);
+        list.set(0, (byte) 0);
+        list.remove(1);
+
+        assertEquals("Snapshot should not see later changes", digits, snapshot.toString());
+        assertEquals("Wrong decimal value", BIG, snapshot.toDecimalString());
+        assertEquals("List should keep its changes", "0" + digits.substring(2) + "1", list.toString());
+    }
+
+    @Test
+    public void testRemoveObjectAfterSnapshot() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        String digits = list.toString();
+        PersistentNumberList snapshot = list.snapshot();
+
+        assertFalse("Missing digit should not be removed", list.remove((Object) (byte) 5));
+        int index = digits.indexOf('0');
+        assertTrue("Digit should be removed", list.remove((Object) (byte) 0));
+
+        assertEquals("Snapshot should not see later changes", digits, snapshot.toString());
+        assertEquals("Wrong digits", digits.substring(0, index) + digits.substring(index + 1), list.toString());
+    }
+
+    @Test
+    public void testSnapshotWhileAppending() {
+        NumberListImpl list = new NumberListImpl();
+        List<PersistentNumberList> snapshots = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            list.add((byte) (i % 3 == 0 ? 1 : 0));
+            if (i % 100 == 0) snapshots.add(list.snapshot());
+        }
+        list.sortDescending();
+
+        for (int k = 0; k < snapshots.size(); k++) {
+            PersistentNumberList snapshot = snapshots.get(k);
+            assertEquals("Wrong snapshot size", k * 100 + 1, snapshot.size());
+            for (int i = 0; i < snapshot.size(); i++) {
+                assertEquals("Wrong digit in snapshot " + k, (byte) (i % 3 == 0 ? 1 : 0), (byte) snapshot.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotOtherBase() {
+        NumberListImpl list = new NumberListImpl(BIG).changeScale();
+        PersistentNumberList snapshot = list.snapshot().plus((byte) 2);
+        list.shiftLeft();
+
+        assertEquals("Wrong digits", new NumberListImpl(BIG).changeScale() + "2", snapshot.toString());
+        assertEquals("Wrong copy", snapshot, snapshot.toNumberListImpl());
+    }
+
+    @Test
+    public void testImmutable() {
+        PersistentNumberList list = new NumberListImpl("5").snapshot();
+        try {
+            list.add((byte) 1);
+            fail("Persistent list should not be changed");
+        } catch (UnsupportedOperationException e) {
+            // очікувана помилка
+        }
+        try {
+            list.sortAscending();
+            fail("Persistent list should not be changed");
+        } catch (UnsupportedOperationException e) {
+            // очікувана помилка
+        }
+        try {
+            list.plus((byte) 2);
+            fail("Digit out of range should not be added");
+        } catch (IllegalArgumentException e) {
+            // очікувана помилка
+        }
+    }
+}
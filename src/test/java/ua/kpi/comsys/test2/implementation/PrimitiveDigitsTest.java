@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import ua.kpi.comsys.test2.NumberList;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PrimitiveDigitsTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testToByteArray() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        byte[] digits = list.toByteArray();
+
+        assertEquals("Wrong length", list.size(), digits.length);
+        for (int i = 0; i < digits.length; i++) {
+            assertEquals("Wrong digit " + i, (byte) list.get(i), digits[i]);
+            assertEquals("Wrong digit " + i, digits[i], list.getDigit(i));
+        }
+    }
+
+    @Test
+    public void testForEachDigitAndIterator() {
+        NumberList[] lists = {
+                new NumberListImpl(BIG),
+                new NumberListImpl(BIG).changeScale(),
+                new NumberListImpl(BIG).snapshot(),
+                new ConcurrentNumberList(BIG)
+        };
+        for (NumberList list : lists) {
+            byte[] expected = list.toByteArray();
+            StringBuilder forEach = new StringBuilder();
+            list.forEachDigit(forEach::append);
+            StringBuilder iterated = new StringBuilder();
+            for (PrimitiveIterator.OfInt it = list.digitIterator(); it.hasNext(); ) {
+                iterated.append(it.nextInt());
+            }
+
+            StringBuilder sb = new StringBuilder();
+            for (byte digit : expected) {
+                sb.append(digit);
+            }
+            assertEquals("Wrong digits of " + list.getClass().getSimpleName(), sb.toString(), forEach.toString());
+            assertEquals("Wrong digits of " + list.getClass().getSimpleName(), sb.toString(), iterated.toString());
+        }
+    }
+
+    @Test
+    public void testDigitIteratorRemove() {
+        NumberListImpl list = new NumberListImpl("5");
+        PrimitiveIterator.OfInt it = list.digitIterator();
+        it.nextInt();
+        it.remove();
+
+        assertEquals("Wrong digits", "01", list.toString());
+    }
+
+    @Test
+    public void testAddDigits() {
+        NumberListImpl list = new NumberListImpl("2");
+        byte[] digits = {5, 1, 0, 1, 5};
+
+        assertFalse("Empty range should not change the list", list.addDigits(digits, 1, 1));
+        list.addDigits(digits, 1, 4);
+        assertEquals("Wrong digits", "10101", list.toString());
+
+        try {
+            list.addDigits(digits, 2, 5);
+            fail("Digit out of range should not be added");
+        } catch (IllegalArgumentException e) {
+            // очікувана помилка
+        }
+        assertEquals("List should not change", "10101", list.toString());
+    }
+
+    @Test
+    public void testToTypedArray() {
+        NumberListImpl list = new NumberListImpl("5");
+
+        Byte[] exact = new Byte[3];
+        assertSame("Array of enough size should be reused", exact, list.toArray(exact));
+        assertArrayEquals("Wrong digits", new Byte[] {1, 0, 1}, exact);
+
+        Object[] longer = {7, 7, 7, 7, 7};
+        list.toArray(longer);
+        assertNull("Element after the last digit should be null", longer[3]);
+
+        Byte[] grown = list.toArray(new Byte[0]);
+        assertArrayEquals("Wrong digits", new Byte[] {1, 0, 1}, grown);
+    }
+
+    @Test
+    public void testParallelDigits() {
+        NumberListImpl list = new NumberListImpl(BIG).multiply(new NumberListImpl(BIG)).multiply(new NumberListImpl(BIG));
+        for (int i = 0; i < 12; i++) {
+            list = list.multiply(list);
+        }
+        byte[] digits = list.toByteArray();
+        long ones = 0;
+        for (byte digit : digits) {
+            ones += digit;
+        }
+
+        assertEquals("Wrong sequential count", ones, list.digits().filter(d -> d == 1).count());
+        assertEquals("Wrong parallel count", ones, list.digits().parallel().filter(d -> d == 1).count());
+        assertEquals("Wrong parallel count", ones, list.parallelStream().filter(d -> d == 1).count());
+        assertEquals("Wrong order of parallel stream", list.toString(),
+                list.parallelStream().map(String::valueOf).collect(Collectors.joining()));
+    }
+
+    @Test
+    public void testSpliteratorSplit() {
+        NumberListImpl list = new NumberListImpl();
+        for (int i = 0; i < 5000; i++) {
+            list.add((byte) (i & 1));
+        }
+
+        Spliterator<Byte> suffix = list.spliterator();
+        assertTrue("Spliterator should be sized", suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        StringBuilder sb = new StringBuilder();
+        suffix.tryAdvance(sb::append);
+        Spliterator<Byte> prefix = suffix.trySplit();
+
+        assertEquals("Wrong total size", 4999, prefix.estimateSize() + suffix.estimateSize());
+        assertTrue("List should be split in halves", prefix.estimateSize() > 2000);
+        prefix.forEachRemaining(sb::append);
+        suffix.forEachRemaining(sb::append);
+        assertEquals("Wrong digits after split", list.toString(), sb.toString());
+    }
+
+    @Test
+    public void testSpliteratorModification() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        Spliterator.OfInt digits = list.digits().spliterator();
+        digits.tryAdvance((int d) -> { });
+        list.add((byte) 1);
+
+        try {
+            digits.forEachRemaining((int d) -> { });
+            fail("Changed list should not be traversed");
+        } catch (ConcurrentModificationException e) {
+            // очікувана помилка
+        }
+    }
+}
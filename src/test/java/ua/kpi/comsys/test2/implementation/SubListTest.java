@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class SubListTest {
+
+    static String BIG = "123456789012345678901234567890";
+
+    @Test
+    public void testReadThrough() {
+        NumberListImpl list = new NumberListImpl(BIG).changeScale();
+        List<Byte> expected = new ArrayList<>(list);
+
+        List<Byte> view = list.subList(5, 40);
+        assertEquals("Wrong view", expected.subList(5, 40), view);
+        assertEquals("Wrong nested view", expected.subList(15, 20), view.subList(10, 15));
+        assertEquals("Digits of the other base should be kept", Byte.valueOf((byte) 2), list.subList(0, 1).get(0));
+    }
+
+    @Test
+    public void testWriteThrough() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        List<Byte> expected = new ArrayList<>(list);
+
+        List<Byte> view = list.subList(10, 60);
+        List<Byte> nested = view.subList(5, 10);
+        List<Byte> expectedView = expected.subList(10, 60);
+        List<Byte> expectedNested = expectedView.subList(5, 10);
+
+        nested.set(0, (byte) 1);
+        expectedNested.set(0, (byte) 1);
+        nested.add(2, (byte) 0);
+        expectedNested.add(2, (byte) 0);
+        nested.remove(4);
+        expectedNested.remove(4);
+        assertEquals("Wrong nested view", expectedNested, nested);
+
+        // зміна зовнішнього представлення робить вкладене недійсним, як і в ArrayList
+        view.add((byte) 1);
+        expectedView.add((byte) 1);
+        assertEquals("Wrong view", expectedView, view);
+        assertEquals("Changes should go to the list", expected, list);
+
+        view.subList(0, 20).clear();
+        expectedView.subList(0, 20).clear();
+        assertEquals("Wrong list after clear", expected, list);
+        assertEquals("Wrong view size", expectedView.size(), view.size());
+    }
+
+    @Test
+    public void testModificationOutsideView() {
+        NumberListImpl list = new NumberListImpl(BIG);
+        List<Byte> view = list.subList(0, 10);
+        list.add((byte) 1);
+
+        try {
+            view.get(0);
+            fail("View should be invalid after the list changed");
+        } catch (ConcurrentModificationException e) {
+            // очікувана помилка
+        }
+    }
+}